@@ -98,6 +98,17 @@ public interface Path extends Cloneable {
      */
     public void addLabel(final String label);
 
+    /**
+     * Retract the path to the objects that are labeled by at least one of the provided labels and remove all other
+     * labels from the path. The current head of the path is never retracted (as labels may still be added to it).
+     * Retraction is an optimization and paths whose objects are shared with other paths may ignore it.
+     *
+     * @param labels the labels of the path to retain
+     */
+    public default void retract(final Set<String> labels) {
+
+    }
+
     /**
      * An ordered list of the objects in the path.
      *
@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process;
 
 import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 import java.util.Collections;
 import java.util.Iterator;
@@ -80,6 +81,22 @@ public interface Step<S, E> extends Iterator<Traverser<E>>, Cloneable {
      */
     public void setTraversal(final Traversal<?, ?> traversal);
 
+    /**
+     * Append the next {@link Traverser} objects of the step to the batch (up to the capacity of the batch).
+     * This is the batch-at-a-time alternative to {@link #hasNext()}/{@link #next()} and the two may be interleaved.
+     * The provided default appends a single traverser and thus, is equivalent to iterating the step.
+     *
+     * @param batch the non-full batch to append the traversers to
+     * @return whether any traverser was appended (if not, the step has no more traversers)
+     */
+    public default boolean nextBatch(final TraverserBatch<E> batch) {
+        if (this.hasNext()) {
+            batch.add((Traverser.Admin<E>) this.next());
+            return true;
+        } else
+            return false;
+    }
+
     /**
      * Reset the state of the step such that it has no incoming starts.
      * Internal states are to be reset, but any sideEffect data structures are not to be recreated.
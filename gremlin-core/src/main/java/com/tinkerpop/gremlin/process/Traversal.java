@@ -11,6 +11,7 @@ import com.tinkerpop.gremlin.process.util.BulkSet;
 import com.tinkerpop.gremlin.process.util.DefaultTraversal;
 import com.tinkerpop.gremlin.process.util.EmptyStep;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 import com.tinkerpop.gremlin.structure.Graph;
 
 import java.util.ArrayList;
@@ -133,11 +134,15 @@ public interface Traversal<S, E> extends Iterator<E>, Cloneable {
         try {
             if (!this.asAdmin().getTraversalEngine().isPresent())
                 this.asAdmin().applyStrategies(TraversalEngine.STANDARD);
-            // use the end step so the results are bulked
+            // use the end step so the results are bulked (and drain it a batch at a time)
             final Step<?, E> endStep = this.asAdmin().getEndStep();
-            while (true) {
-                final Traverser<E> traverser = endStep.next();
-                TraversalHelper.addToCollection(collection, traverser.get(), traverser.bulk());
+            final TraverserBatch<E> batch = new TraverserBatch<>();
+            while (endStep.nextBatch(batch)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    final Traverser<E> traverser = batch.get(i);
+                    TraversalHelper.addToCollection(collection, traverser.get(), traverser.bulk());
+                }
+                batch.clear();
             }
         } catch (final NoSuchElementException ignored) {
         }
@@ -155,10 +160,11 @@ public interface Traversal<S, E> extends Iterator<E>, Cloneable {
         try {
             if (!this.asAdmin().getTraversalEngine().isPresent())
                 this.asAdmin().applyStrategies(TraversalEngine.STANDARD);
-            // use the end step so the results are bulked
+            // use the end step so the results are bulked (and drain it a batch at a time)
             final Step<?, E> endStep = this.asAdmin().getEndStep();
-            while (true) {
-                endStep.next();
+            final TraverserBatch<E> batch = new TraverserBatch<>();
+            while (endStep.nextBatch(batch)) {
+                batch.clear();
             }
         } catch (final NoSuchElementException ignored) {
         }
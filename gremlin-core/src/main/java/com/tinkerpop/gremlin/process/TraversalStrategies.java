@@ -7,12 +7,15 @@ import com.tinkerpop.gremlin.process.graph.strategy.EngineDependentStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.IdentityRemovalStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.LabeledEndStepStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.MatchWhereStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.PathRetractionStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.ReducingStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.SideEffectCapStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.SideEffectRegistrationStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.StepFusionStrategy;
 import com.tinkerpop.gremlin.process.graph.strategy.ProfileStrategy;
 import com.tinkerpop.gremlin.process.traverser.TraverserGeneratorFactory;
 import com.tinkerpop.gremlin.process.util.DefaultTraversalStrategies;
+import com.tinkerpop.gremlin.process.util.TraversalPlanCache;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Vertex;
@@ -20,12 +23,11 @@ import com.tinkerpop.gremlin.structure.VertexProperty;
 import com.tinkerpop.gremlin.util.tools.MultiMap;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -86,6 +88,19 @@ public interface TraversalStrategies extends Cloneable {
      */
     public void setTraverserGeneratorFactory(final TraverserGeneratorFactory traverserGeneratorFactory);
 
+    /**
+     * Set the {@link TraversalPlanCache} that holds the compiled plans of the traversals that use these strategies.
+     * The plans in the cache are only valid for these strategies and thus, the cache is not shared with clones.
+     *
+     * @param planCache the plan cache to use (or null to not cache plans)
+     */
+    public void setPlanCache(final TraversalPlanCache planCache);
+
+    /**
+     * Get the {@link TraversalPlanCache} of these strategies (if plans are cached).
+     */
+    public Optional<TraversalPlanCache> getPlanCache();
+
     /**
      * Sorts the list of provided strategies such that the {@link com.tinkerpop.gremlin.process.TraversalStrategy#applyPost()}
      * and {@link TraversalStrategy#applyPrior()} dependencies are respected.
@@ -125,19 +140,22 @@ public interface TraversalStrategies extends Cloneable {
                 if (toAdd != null && MultiMap.putAll(dependencyMap, sc, toAdd)) updated = true;
             }
         } while (updated);
-        Collections.sort(strategies, new Comparator<TraversalStrategy>() {
-            @Override
-            public int compare(final TraversalStrategy s1, final TraversalStrategy s2) {
-                boolean s1Before = MultiMap.containsEntry(dependencyMap, s1.getClass(), s2.getClass());
-                boolean s2Before = MultiMap.containsEntry(dependencyMap, s2.getClass(), s1.getClass());
-                if (s1Before && s2Before)
-                    throw new IllegalStateException("Cyclic dependency between traversal strategies: ["
-                            + s1.getClass().getName() + ", " + s2.getClass().getName() + "]");
-                if (s1Before) return -1;
-                else if (s2Before) return 1;
-                else return 0;
+        // the dependencies are a partial order and thus, can not be sorted by pairwise comparison
+        // rather, the first remaining strategy that no other remaining strategy must precede is placed next
+        final List<TraversalStrategy> remaining = new ArrayList<>(strategies);
+        for (int i = 0; i < strategies.size(); i++) {
+            TraversalStrategy next = null;
+            for (final TraversalStrategy candidate : remaining) {
+                if (!remaining.stream().anyMatch(other -> MultiMap.containsEntry(dependencyMap, other.getClass(), candidate.getClass()))) {
+                    next = candidate;
+                    break;
+                }
             }
-        });
+            if (null == next)
+                throw new IllegalStateException("Cyclic dependency between traversal strategies: " + remaining);
+            remaining.remove(next);
+            ((List<TraversalStrategy>) strategies).set(i, next);
+        }
     }
 
     public static final class GlobalCache {
@@ -156,7 +174,9 @@ public interface TraversalStrategies extends Cloneable {
                     LabeledEndStepStrategy.instance(),
                     EngineDependentStrategy.instance(),
                     ProfileStrategy.instance(),
-                    SideEffectRegistrationStrategy.instance());
+                    SideEffectRegistrationStrategy.instance(),
+                    PathRetractionStrategy.instance(),
+                    StepFusionStrategy.instance());
 
             try {
                 CACHE.put(Graph.class, coreStrategies.clone());
@@ -4,6 +4,8 @@ package com.tinkerpop.gremlin.process.computer;
  * A MessageCombiner allows two messages in route to the same vertex to be aggregated into a single message.
  * Message combining can reduce the number of messages sent between vertices and thus, reduce network traffic.
  * Not all messages can be combined and thus, this is an optional feature of a {@link VertexProgram}.
+ * A MessageCombiner of numeric messages may also implement {@link java.util.function.DoubleBinaryOperator}
+ * (or {@link java.util.function.LongBinaryOperator}) so that a {@link GraphComputer} can combine messages without boxing.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -251,5 +251,15 @@ public interface VertexProgram<M> extends Cloneable {
         public default boolean requiresEdgePropertyRemoval() {
             return false;
         }
+
+        /**
+         * Whether the vertex program is message driven, i.e. a vertex that is not sent any messages does nothing in an iteration.
+         * If so, a {@link GraphComputer} may execute only the vertices that were sent a message in the previous iteration
+         * (all vertices are executed in the initial iteration). A vertex that must be executed in the next iteration
+         * without being sent a message can send a message to itself.
+         */
+        public default boolean isMessageDriven() {
+            return false;
+        }
     }
 }
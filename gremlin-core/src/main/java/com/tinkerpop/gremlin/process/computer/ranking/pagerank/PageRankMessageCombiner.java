@@ -3,11 +3,12 @@ package com.tinkerpop.gremlin.process.computer.ranking.pagerank;
 import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 
 import java.util.Optional;
+import java.util.function.DoubleBinaryOperator;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class PageRankMessageCombiner implements MessageCombiner<Double> {
+public class PageRankMessageCombiner implements MessageCombiner<Double>, DoubleBinaryOperator {
 
     private static final Optional<PageRankMessageCombiner> INSTANCE = Optional.of(new PageRankMessageCombiner());
 
@@ -20,6 +21,15 @@ public class PageRankMessageCombiner implements MessageCombiner<Double> {
         return messageA + messageB;
     }
 
+    /**
+     * The primitive form of {@link PageRankMessageCombiner#combine} that allows a {@link com.tinkerpop.gremlin.process.computer.GraphComputer}
+     * to combine messages without boxing.
+     */
+    @Override
+    public double applyAsDouble(final double messageA, final double messageB) {
+        return messageA + messageB;
+    }
+
     public static Optional<PageRankMessageCombiner> instance() {
         return INSTANCE;
     }
@@ -33,6 +33,7 @@ import org.apache.commons.configuration.Configuration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -55,14 +56,15 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
     private static final String VOTE_TO_HALT = "gremlin.traversalVertexProgram.voteToHalt";
     public static final String TRAVERSAL_SUPPLIER = "gremlin.traversalVertexProgram.traversalSupplier";
 
-    // TODO: if not an adjacent traversal, use Local message scope -- a dual messaging system.
-    private static final Set<MessageScope> MESSAGE_SCOPES = new HashSet<>(Arrays.asList(MessageScope.Global.instance()));
     private static final Set<String> ELEMENT_COMPUTE_KEYS = new HashSet<>(Arrays.asList(HALTED_TRAVERSERS, TraversalSideEffects.SIDE_EFFECTS));
     private static final Set<String> MEMORY_COMPUTE_KEYS = new HashSet<>(Arrays.asList(VOTE_TO_HALT));
 
     private LambdaHolder<Supplier<Traversal.Admin<?, ?>>> traversalSupplier;
     private Traversal.Admin<?, ?> traversal;
     private TraversalMatrix<?, ?> traversalMatrix;
+    // adjacent traversers are sent with the local message scope of their step and all other traversers with a global message scope
+    private Map<String, MessageScope.Local<TraverserSet<?>>> localScopes;
+    private Set<MessageScope> messageScopes;
 
     private final Set<MapReduce> mapReducers = new HashSet<>();
 
@@ -93,6 +95,9 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
         this.traversal = this.traversalSupplier.get().get();
         this.traversal.applyStrategies(TraversalEngine.COMPUTER);
         this.traversalMatrix = new TraversalMatrix<>(this.traversal);
+        this.localScopes = TraverserExecutor.getLocalScopes(this.traversal);
+        this.messageScopes = new HashSet<>(this.localScopes.values());
+        this.messageScopes.add(MessageScope.Global.instance());
         for (final MapReducer<?, ?, ?, ?, ?> mapReducer : TraversalHelper.getStepsOfAssignableClassRecurssively(MapReducer.class, this.traversal)) {
             this.mapReducers.add(mapReducer.getMapReduce());
         }
@@ -113,7 +118,7 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
 
     @Override
     public Set<MessageScope> getMessageScopes(final Memory memory) {
-        return MESSAGE_SCOPES;
+        return this.messageScopes;
     }
 
     @Override
@@ -147,7 +152,7 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
             }
             memory.and(VOTE_TO_HALT, voteToHalt);
         } else {
-            memory.and(VOTE_TO_HALT, TraverserExecutor.execute(vertex, messenger, this.traversalMatrix));
+            memory.and(VOTE_TO_HALT, TraverserExecutor.execute(vertex, messenger, this.traversalMatrix, this.messageScopes, this.localScopes));
         }
     }
 
@@ -204,10 +209,20 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
                 return true;
             }
 
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
             @Override
             public boolean requiresVertexPropertyAddition() {
                 return true;
             }
+
+            @Override
+            public boolean isMessageDriven() {
+                return true;
+            }
         };
     }
 
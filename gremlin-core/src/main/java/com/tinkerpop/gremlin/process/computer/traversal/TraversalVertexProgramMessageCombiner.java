@@ -17,7 +17,10 @@ public final class TraversalVertexProgramMessageCombiner implements MessageCombi
     }
 
     public TraverserSet<?> combine(final TraverserSet<?> messageA, final TraverserSet<?> messageB) {
-        messageA.addAll((TraverserSet) messageB);
+        // a message may be read (see TraverserExecutor) while it is combined with the messages that are sent to its vertex
+        synchronized (messageA) {
+            messageA.addAll((TraverserSet) messageB);
+        }
         return messageA;
     }
 
@@ -1,10 +1,14 @@
 package com.tinkerpop.gremlin.process.computer.traversal;
 
 import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.TraversalSideEffects;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.computer.MessageScope;
 import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.graph.step.map.EdgeVertexStep;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.process.util.TraversalMatrix;
 import com.tinkerpop.gremlin.process.util.TraverserSet;
 import com.tinkerpop.gremlin.structure.Direction;
@@ -14,14 +18,60 @@ import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.detached.DetachedElement;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.tinkerpop.gremlin.process.graph.AnonymousGraphTraversal.Tokens.__;
+
 /**
+ * The {@link TraverserExecutor} uses a dual messaging scheme. The traversers that a {@link VertexStep} moves to an
+ * adjacent element are combined into a single {@link TraverserSet} per local message scope (see {@link #getLocalScopes})
+ * that is sent with the {@link MessageScope.Local} of the direction and edge labels of the step. Thus, the message is
+ * only read by (and only activates) the neighbors that the step moves its traversers to. The message is sent with an
+ * edge function that narrows it to the traversers of the vertex at the other end of the edge, so a messenger that
+ * sends a message per edge only sends each neighbor its own traversers.
+ * All other traversers that leave the vertex (e.g. those of an {@link EdgeVertexStep} which only moves along the edges
+ * that hold traversers) are sent to their hosting vertex with {@link MessageScope.Global} as a single
+ * {@link TraverserSet} per hosting vertex (i.e. equal traversers are merged before they are sent).
+ * As a received message may hold traversers for other vertices (e.g. the other neighbors of the sender), a vertex
+ * extracts (i.e. removes) the traversers that it hosts from each message. Thus, a message that is read more than
+ * once (e.g. along parallel edges or along the edges of several message scopes) does not yield its traversers more than once.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TraverserExecutor {
 
-    public static boolean execute(final Vertex vertex, final Messenger<TraverserSet<?>> messenger, final TraversalMatrix<?, ?> traversalMatrix) {
+    /**
+     * Get the local message scopes of the {@link VertexStep}s of the traversal that move traversers to adjacent
+     * elements, keyed by step id. The steps with the same direction and edge labels share the same message scope.
+     */
+    public static Map<String, MessageScope.Local<TraverserSet<?>>> getLocalScopes(final Traversal.Admin<?, ?> traversal) {
+        final Map<String, MessageScope.Local<TraverserSet<?>>> localScopes = new HashMap<>();
+        final Map<String, MessageScope.Local<TraverserSet<?>>> sharedScopes = new HashMap<>();
+        for (final VertexStep<?> step : TraversalHelper.getStepsOfAssignableClassRecurssively(VertexStep.class, traversal)) {
+            // an edge is hosted by its out vertex, so only the incoming edges of a vertex are adjacent elements
+            final Direction direction = Edge.class.isAssignableFrom(step.getReturnClass()) ?
+                    (Direction.OUT.equals(step.getDirection()) ? null : Direction.IN) :
+                    step.getDirection();
+            if (null == direction)
+                continue;
+            final String[] edgeLabels = step.getEdgeLabels();
+            MessageScope.Local<TraverserSet<?>> localScope = sharedScopes.get(direction + Arrays.toString(edgeLabels));
+            if (null == localScope) {
+                localScope = MessageScope.Local.of(() -> __.toE(direction, edgeLabels));
+                sharedScopes.put(direction + Arrays.toString(edgeLabels), localScope);
+            }
+            localScopes.put(step.getId(), localScope);
+        }
+        return localScopes;
+    }
+
+    public static boolean execute(final Vertex vertex, final Messenger<TraverserSet<?>> messenger, final TraversalMatrix<?, ?> traversalMatrix,
+                                  final Set<MessageScope> messageScopes, final Map<String, MessageScope.Local<TraverserSet<?>>> localScopes) {
 
         final TraverserSet<Object> haltedTraversers = vertex.value(TraversalVertexProgram.HALTED_TRAVERSERS);
         final AtomicBoolean voteToHalt = new AtomicBoolean(true);
@@ -29,13 +79,20 @@ public final class TraverserExecutor {
         final TraverserSet<Object> aliveTraversers = new TraverserSet<>();
         // gather incoming traversers into a traverser set and gain the 'weighted-set' optimization
         final TraversalSideEffects traversalSideEffects = traversalMatrix.getTraversal().asAdmin().getSideEffects();
-        messenger.receiveMessages(MessageScope.Global.instance()).forEach(traverserSet -> {
-            traverserSet.forEach(traverser -> {
-                traverser.setSideEffects(traversalSideEffects);
-                traverser.attach(vertex);
-                aliveTraversers.add((Traverser.Admin) traverser);
+        for (final MessageScope messageScope : messageScopes) {
+            messenger.receiveMessages(messageScope).forEach(traverserSet -> {
+                TraverserExecutor.extractTraversers(traverserSet, vertex).forEach(traverser -> {
+                    traverser.setSideEffects(traversalSideEffects);
+                    traverser.attach(vertex);
+                    aliveTraversers.add((Traverser.Admin) traverser);
+                });
             });
-        });
+        }
+
+        // the traversers that move to an adjacent element are sent as a single local message per local message scope
+        final Map<MessageScope.Local<TraverserSet<?>>, TraverserSet<Object>> adjacentTraversers = new HashMap<>();
+        // all other traversers that leave the vertex are sent as a single global message per hosting vertex
+        final Map<Vertex, TraverserSet<Object>> remoteTraversers = new HashMap<>();
 
         // while there are still local traversers, process them until they leave the vertex or halt (i.e. isHalted()).
         while (!aliveTraversers.isEmpty()) {
@@ -48,7 +105,12 @@ public final class TraverserExecutor {
                     if (!vertex.equals(hostingVertex) || traverser.get() instanceof DetachedElement) { // TODO: why is the DetachedElement instanceof needed?
                         voteToHalt.set(false);
                         traverser.detach();
-                        messenger.sendMessage(MessageScope.Global.of(hostingVertex), new TraverserSet<>(traverser));
+                        TraverserSet<Object> traversers = remoteTraversers.get(hostingVertex);
+                        if (null == traversers) {
+                            traversers = new TraverserSet<>();
+                            remoteTraversers.put(hostingVertex, traversers);
+                        }
+                        traversers.add(traverser);
                     } else
                         toProcessTraversers.add(traverser);
                 } else                                                                              // STANDARD OBJECT
@@ -59,19 +121,59 @@ public final class TraverserExecutor {
             aliveTraversers.clear();
             toProcessTraversers.forEach(start -> {
                 final Step<?, ?> step = traversalMatrix.getStepById(start.getStepId());
+                final MessageScope.Local<TraverserSet<?>> localScope = localScopes.get(step.getId());
                 step.addStart((Traverser.Admin) start);
                 step.forEachRemaining(end -> {
                     if (end.asAdmin().isHalted()) {
                         end.asAdmin().detach();
                         haltedTraversers.add((Traverser.Admin) end);
+                    } else if (null != localScope && !vertex.equals(TraverserExecutor.getHostingVertex(end.get()))) {
+                        end.asAdmin().detach();
+                        TraverserSet<Object> traversers = adjacentTraversers.get(localScope);
+                        if (null == traversers) {
+                            traversers = new TraverserSet<>();
+                            adjacentTraversers.put(localScope, traversers);
+                        }
+                        traversers.add((Traverser.Admin) end);
                     } else
                         aliveTraversers.add((Traverser.Admin) end);
                 });
             });
         }
+
+        remoteTraversers.forEach((hostingVertex, traversers) -> messenger.sendMessage(MessageScope.Global.of(hostingVertex), traversers));
+        if (!adjacentTraversers.isEmpty()) {
+            voteToHalt.set(false);
+            // the message is narrowed to the traversers of the adjacent vertex for the messengers that send a message per edge
+            adjacentTraversers.forEach((localScope, traversers) -> messenger.sendMessage(MessageScope.Local.<TraverserSet<?>>of(localScope.getIncidentTraversal(),
+                    (traverserSet, edge) -> TraverserExecutor.extractTraversers(traverserSet, TraverserExecutor.getAdjacentVertex(edge, vertex))), traversers));
+        }
         return voteToHalt.get();
     }
 
+    // remove and return the traversers of the message that are hosted by the vertex
+    private static TraverserSet<?> extractTraversers(final TraverserSet<?> traverserSet, final Vertex vertex) {
+        final TraverserSet<Object> traversers = new TraverserSet<>();
+        // the message may be read concurrently by the other vertices that it holds traversers for
+        synchronized (traverserSet) {
+            final Iterator<? extends Traverser.Admin<?>> iterator = traverserSet.iterator();
+            while (iterator.hasNext()) {
+                final Traverser.Admin<?> traverser = iterator.next();
+                if (vertex.equals(TraverserExecutor.getHostingVertex(traverser.get()))) {
+                    traversers.add((Traverser.Admin) traverser);
+                    iterator.remove();
+                }
+            }
+        }
+        return traversers;
+    }
+
+    // the vertex at the other end of the edge (the sending vertex holds no adjacent traversers, so a self-loop yields none)
+    private static Vertex getAdjacentVertex(final Edge edge, final Vertex vertex) {
+        final Vertex outVertex = edge.iterators().vertexIterator(Direction.OUT).next();
+        return vertex.equals(outVertex) ? edge.iterators().vertexIterator(Direction.IN).next() : outVertex;
+    }
+
     private final static Vertex getHostingVertex(final Object object) {
         if (object instanceof Vertex)
             return (Vertex) object;
@@ -3,6 +3,8 @@ package com.tinkerpop.gremlin.process.computer.util;
 import com.tinkerpop.gremlin.util.function.TriConsumer;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
@@ -13,6 +15,11 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
+ * A {@link ScriptEngineLambda} evaluates a script as a lambda whose arguments are bound to "a", "b" and "c".
+ * If the script engine is {@link Compilable}, the script is compiled once (rather than on every invocation).
+ * Every invocation evaluates the script with its own bindings so that concurrent and nested (e.g. a script that
+ * invokes the lambda again) invocations do not overwrite each other's arguments.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ScriptEngineLambda implements Function, Supplier, Consumer, Predicate, BiConsumer, TriConsumer {
@@ -23,17 +30,23 @@ public class ScriptEngineLambda implements Function, Supplier, Consumer, Predica
 
     protected final ScriptEngine engine;
     protected final String script;
+    protected final CompiledScript compiledScript;
 
     public ScriptEngineLambda(final String engineName, final String script) {
         this.engine = ScriptEngineCache.get(engineName);
         this.script = script;
+        try {
+            this.compiledScript = this.engine instanceof Compilable ? ((Compilable) this.engine).compile(this.script) : null;
+        } catch (final ScriptException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
     }
 
     public Object apply(final Object a) {
         try {
-            final Bindings bindings = new SimpleBindings();
+            final Bindings bindings = this.getBindings();
             bindings.put(A, a);
-            return this.engine.eval(this.script, bindings);
+            return this.eval(bindings);
         } catch (final ScriptException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -41,7 +54,7 @@ public class ScriptEngineLambda implements Function, Supplier, Consumer, Predica
 
     public Object get() {
         try {
-            return this.engine.eval(this.script);
+            return null == this.compiledScript ? this.engine.eval(this.script) : this.compiledScript.eval();
         } catch (final ScriptException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -49,9 +62,9 @@ public class ScriptEngineLambda implements Function, Supplier, Consumer, Predica
 
     public void accept(final Object a) {
         try {
-            final Bindings bindings = new SimpleBindings();
+            final Bindings bindings = this.getBindings();
             bindings.put(A, a);
-            this.engine.eval(this.script, bindings);
+            this.eval(bindings);
         } catch (final ScriptException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -59,10 +72,10 @@ public class ScriptEngineLambda implements Function, Supplier, Consumer, Predica
 
     public void accept(final Object a, final Object b) {
         try {
-            final Bindings bindings = new SimpleBindings();
+            final Bindings bindings = this.getBindings();
             bindings.put(A, a);
             bindings.put(B, b);
-            this.engine.eval(this.script, bindings);
+            this.eval(bindings);
         } catch (final ScriptException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -70,11 +83,11 @@ public class ScriptEngineLambda implements Function, Supplier, Consumer, Predica
 
     public void accept(final Object a, final Object b, final Object c) {
         try {
-            final Bindings bindings = new SimpleBindings();
+            final Bindings bindings = this.getBindings();
             bindings.put(A, a);
             bindings.put(B, b);
             bindings.put(C, c);
-            this.engine.eval(this.script, bindings);
+            this.eval(bindings);
         } catch (final ScriptException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -82,12 +95,20 @@ public class ScriptEngineLambda implements Function, Supplier, Consumer, Predica
 
     public boolean test(final Object a) {
         try {
-            final Bindings bindings = new SimpleBindings();
+            final Bindings bindings = this.getBindings();
             bindings.put(A, a);
-            return (boolean) this.engine.eval(this.script, bindings);
+            return (boolean) this.eval(bindings);
         } catch (final ScriptException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
     }
 
+    private Bindings getBindings() {
+        return new SimpleBindings();
+    }
+
+    private Object eval(final Bindings bindings) throws ScriptException {
+        return null == this.compiledScript ? this.engine.eval(this.script, bindings) : this.compiledScript.eval(bindings);
+    }
+
 }
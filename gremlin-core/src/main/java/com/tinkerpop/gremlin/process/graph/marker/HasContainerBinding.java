@@ -0,0 +1,19 @@
+package com.tinkerpop.gremlin.process.graph.marker;
+
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+
+import java.util.List;
+
+/**
+ * A step that is bound to the has containers of the has steps that it was compiled from (e.g. a provider step that
+ * looks up the has containers in an index). Unlike a {@link HasContainerHolder}, the step is not a has step.
+ * The values of the has containers are rebound when the step is instantiated from a cached plan
+ * (see {@link com.tinkerpop.gremlin.process.util.TraversalPlanCache}) and thus, the step must copy its has containers
+ * when it is cloned.
+ *
+ * @author agent (agent@local)
+ */
+public interface HasContainerBinding {
+
+    public List<HasContainer> getBoundHasContainers();
+}
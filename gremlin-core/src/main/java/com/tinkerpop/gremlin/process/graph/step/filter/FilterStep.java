@@ -3,8 +3,10 @@ package com.tinkerpop.gremlin.process.graph.step.filter;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 import com.tinkerpop.gremlin.util.function.CloneableLambda;
 
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
 /**
@@ -22,6 +24,10 @@ public class FilterStep<S> extends AbstractStep<S, S> {
         this.predicate = predicate;
     }
 
+    public Predicate<Traverser<S>> getPredicate() {
+        return this.predicate;
+    }
+
     @Override
     protected Traverser<S> processNextStart() {
         while (true) {
@@ -32,6 +38,39 @@ public class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        if (!this.processesBatches())
+            return this.processNextStartInto(batch);
+        // the starts are appended to the batch and then filtered in place
+        final int from = batch.size();
+        while (this.starts.nextBatch(batch)) {
+            int to = from;
+            int i = from;
+            try {
+                for (; i < batch.size(); i++) {
+                    final Traverser.Admin<S> traverser = batch.get(i);
+                    if (this.predicate.test(traverser))
+                        batch.set(to++, traverser);
+                }
+            } catch (final NoSuchElementException e) {
+                // the predicate has exhausted the step (e.g. a range), so the untested starts are returned to the starts
+                // and the exception is rethrown once the traversers that passed before it are processed
+                for (int j = i + 1; j < batch.size(); j++) {
+                    this.starts.add(batch.get(j));
+                }
+                batch.truncate(to);
+                if (to > from)
+                    return true;
+                throw e;
+            }
+            batch.truncate(to);
+            if (to > from)
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public FilterStep<S> clone() throws CloneNotSupportedException {
         final FilterStep<S> clone = (FilterStep<S>) super.clone();
@@ -18,7 +18,7 @@ import java.util.Set;
  */
 public final class HasStep<S extends Element> extends FilterStep<S> implements HasContainerHolder, Reversible {
 
-    private final HasContainer hasContainer;
+    private HasContainer hasContainer;
 
     public HasStep(final Traversal traversal, final HasContainer hasContainer) {
         super(traversal);
@@ -40,4 +40,13 @@ public final class HasStep<S extends Element> extends FilterStep<S> implements H
     public Set<TraverserRequirement> getRequirements() {
         return Collections.singleton(TraverserRequirement.OBJECT);
     }
+
+    @Override
+    public HasStep<S> clone() throws CloneNotSupportedException {
+        final HasStep<S> clone = (HasStep<S>) super.clone();
+        // the has container is copied so that its value can be rebound (see TraversalPlanCache)
+        clone.hasContainer = this.hasContainer.clone();
+        clone.setPredicate(traverser -> clone.hasContainer.test(traverser.get()));
+        return clone;
+    }
 }
@@ -5,6 +5,7 @@ import com.tinkerpop.gremlin.process.graph.marker.Ranging;
 import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
 import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 import java.util.Collections;
 import java.util.Set;
@@ -49,6 +50,12 @@ public final class RangeStep<S> extends FilterStep<S> implements Ranging {
         return this.high;
     }
 
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        // the range is applied one traverser at a time so that no more starts than required are pulled
+        return this.processNextStartInto(batch);
+    }
+
     @Override
     public RangeStep<S> clone() throws CloneNotSupportedException {
         final RangeStep<S> clone = (RangeStep<S>) super.clone();
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.marker.Reversible;
 import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -41,6 +42,12 @@ public final class TimeLimitStep<S> extends FilterStep<S> implements Reversible
         return this.timedOut.get();
     }
 
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        // the time limit is checked one traverser at a time so that no more starts than required are pulled
+        return this.processNextStartInto(batch);
+    }
+
     @Override
     public TimeLimitStep<S> clone() throws CloneNotSupportedException {
         final TimeLimitStep<S> clone = (TimeLimitStep<S>) super.clone();
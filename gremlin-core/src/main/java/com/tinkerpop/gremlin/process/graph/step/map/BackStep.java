@@ -23,6 +23,10 @@ public final class BackStep<S, E> extends MapStep<S, E> implements EngineDepende
         this.setFunction(traverser -> traverser.path(this.stepLabel));
     }
 
+    public String getStepLabel() {
+        return this.stepLabel;
+    }
+
     @Override
     public void onEngine(final TraversalEngine traversalEngine) {
         this.requiresPaths = traversalEngine.equals(TraversalEngine.COMPUTER);
@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.process.graph.step.map;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 import java.util.Collections;
 import java.util.Iterator;
@@ -25,6 +26,10 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
         this.function = function;
     }
 
+    public Function<Traverser<S>, Iterator<E>> getFunction() {
+        return this.function;
+    }
+
     @Override
     protected Traverser<E> processNextStart() {
         while (true) {
@@ -37,6 +42,25 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<E> batch) {
+        if (!this.processesBatches())
+            return this.processNextStartInto(batch);
+        final int from = batch.size();
+        while (!batch.isFull()) {
+            if (this.iterator.hasNext()) {
+                batch.add(this.head.split(this.iterator.next(), this));
+            } else {
+                final Traverser.Admin<S> start = this.starts.pollBatched();
+                if (null == start)
+                    break;
+                this.head = start;
+                this.iterator = this.function.apply(this.head);
+            }
+        }
+        return batch.size() > from;
+    }
+
     @Override
     public void reset() {
         super.reset();
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 import java.util.Collections;
 import java.util.Set;
@@ -28,10 +29,29 @@ public class MapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<E> batch) {
+        if (!this.processesBatches())
+            return this.processNextStartInto(batch);
+        // the starts are appended to the batch and then mapped in place
+        final int from = batch.size();
+        if (!this.starts.nextBatch((TraverserBatch) batch))
+            return false;
+        for (int i = from; i < batch.size(); i++) {
+            final Traverser.Admin<S> traverser = (Traverser.Admin) batch.get(i);
+            batch.set(i, traverser.split(this.function.apply(traverser), this));
+        }
+        return true;
+    }
+
     public void setFunction(final Function<Traverser<S>, E> function) {
         this.function = function;
     }
 
+    public Function<Traverser<S>, E> getFunction() {
+        return this.function;
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return Collections.singleton(TraverserRequirement.PATH_ACCESS); // TODO: this is bad -- just a hack right now.
@@ -44,6 +44,10 @@ public class SelectStep<S, E> extends MapStep<S, Map<String, E>> implements Func
         this.functionRing.reset();
     }
 
+    public List<String> getSelectLabels() {
+        return this.selectLabels;
+    }
+
     public boolean hasStepFunctions() {
         return !this.functionRing.isEmpty();
     }
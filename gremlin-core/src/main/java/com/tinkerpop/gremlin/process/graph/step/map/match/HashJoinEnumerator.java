@@ -0,0 +1,136 @@
+package com.tinkerpop.gremlin.process.graph.step.map.match;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An Enumerator which joins the solutions of two other Enumerators according to their shared variables.
+ * The solutions of the build Enumerator are exhausted into a hash table keyed by the values of the shared variables
+ * and the solutions of the probe Enumerator are then visited in order and matched against the table.
+ * Thus, the join is linear in the number of solutions of both Enumerators (rather than in the size of their product)
+ * and only the build Enumerator (which should be the smaller of the two) is held in memory.
+ * <p/>
+ * A solution in which a shared variable is bound more than once (e.g. the solution of another join) is only
+ * joined if all of the bindings of the variable are equal.
+ *
+ * @author agent (agent@local)
+ */
+public class HashJoinEnumerator<T> implements Enumerator<T> {
+
+    private final Enumerator<T> probeEnumerator;
+    private final Enumerator<T> buildEnumerator;
+    private final List<String> joinVariables;
+
+    private Map<List<T>, List<Integer>> table = null;
+    // the probe and build indices of each solution found so far
+    private final List<int[]> solutions = new ArrayList<>();
+    private int probeIndex = 0;
+    private boolean exhausted = false;
+
+    private final Map<String, T> joinBindings = new HashMap<>();
+    private boolean visited;
+    private boolean consistent;
+    private final BiConsumer<String, T> keyVisitor;
+
+    public HashJoinEnumerator(final Enumerator<T> probeEnumerator,
+                              final Enumerator<T> buildEnumerator,
+                              final Set<String> joinVariables) {
+        this.probeEnumerator = probeEnumerator;
+        this.buildEnumerator = buildEnumerator;
+        this.joinVariables = new ArrayList<>(joinVariables);
+        this.keyVisitor = (name, value) -> {
+            if (joinVariables.contains(name)) {
+                final T other = this.joinBindings.put(name, value);
+                if (null != other && !other.equals(value))
+                    this.consistent = false;
+            }
+        };
+    }
+
+    public int size() {
+        return this.solutions.size();
+    }
+
+    public boolean visitSolution(final int index,
+                                 final BiConsumer<String, T> visitor) {
+        while (index >= this.solutions.size()) {
+            if (!this.probe()) {
+                return false;
+            }
+        }
+
+        final int[] solution = this.solutions.get(index);
+        // the join variables are visited once (as bound by the probe solution)
+        return this.probeEnumerator.visitSolution(solution[0], visitor) &&
+                this.buildEnumerator.visitSolution(solution[1], (name, value) -> {
+                    if (!this.joinVariables.contains(name)) {
+                        visitor.accept(name, value);
+                    }
+                });
+    }
+
+    // probes the table with the next probe solution, returning false once the probe enumerator is exhausted
+    private boolean probe() {
+        if (null == this.table) {
+            this.build();
+        }
+        if (this.exhausted) {
+            return false;
+        }
+
+        final List<T> key = this.visitKey(this.probeEnumerator, this.probeIndex);
+        if (!this.visited) {
+            this.exhausted = true;
+            return false;
+        }
+        if (null != key) {
+            final List<Integer> matches = this.table.get(key);
+            if (null != matches) {
+                for (final Integer buildIndex : matches) {
+                    this.solutions.add(new int[]{this.probeIndex, buildIndex});
+                }
+            }
+        }
+        this.probeIndex++;
+        return true;
+    }
+
+    private void build() {
+        this.table = new HashMap<>();
+        int buildIndex = 0;
+        while (true) {
+            final List<T> key = this.visitKey(this.buildEnumerator, buildIndex);
+            if (!this.visited) {
+                return;
+            }
+            if (null != key) {
+                List<Integer> indices = this.table.get(key);
+                if (null == indices) {
+                    indices = new ArrayList<>(1);
+                    this.table.put(key, indices);
+                }
+                indices.add(buildIndex);
+            }
+            buildIndex++;
+        }
+    }
+
+    // returns the values of the join variables of the solution (or null if there is no such solution or if the solution does not bind them consistently)
+    private List<T> visitKey(final Enumerator<T> enumerator, final int index) {
+        this.joinBindings.clear();
+        this.consistent = true;
+        this.visited = enumerator.visitSolution(index, this.keyVisitor);
+        if (!this.visited || !this.consistent || this.joinBindings.size() < this.joinVariables.size()) {
+            return null;
+        }
+        final List<T> key = new ArrayList<>(this.joinVariables.size());
+        for (final String variable : this.joinVariables) {
+            key.add(this.joinBindings.get(variable));
+        }
+        return key;
+    }
+}
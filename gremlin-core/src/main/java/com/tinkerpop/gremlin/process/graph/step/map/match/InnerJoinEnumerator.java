@@ -24,7 +24,7 @@ public class InnerJoinEnumerator<T> implements Enumerator<T> {
     private final Map<String, T> map;
     private final BiConsumer<String, T> joinVisitor;
 
-    private int joinCount;
+    private boolean consistent;
 
     public InnerJoinEnumerator(final Enumerator<T> baseEnumerator,
                                final Set<String> joinVariables) {
@@ -33,17 +33,13 @@ public class InnerJoinEnumerator<T> implements Enumerator<T> {
         this.joinIndices = new ArrayList<>();
 
         map = new HashMap<>();
-        // TODO: allow for more than two instances of a variable
+        // a join variable may have any number of instances, all of which must be equal
         joinVisitor = (name, newValue) -> {
-            if (joinVariables.contains(name)) {
-                T value = map.get(name);
-                if (null == value) {
-                    map.put(name, newValue);
-                } else if (value.equals(newValue)) {
-                    joinCount++;
-                }
-            } else {
+            T value = map.get(name);
+            if (null == value) {
                 map.put(name, newValue);
+            } else if (joinVariables.contains(name) && !value.equals(newValue)) {
+                consistent = false;
             }
         };
 
@@ -68,14 +64,14 @@ public class InnerJoinEnumerator<T> implements Enumerator<T> {
             private void advanceToNext() {
                 while (true) {
                     map.clear();
-                    joinCount = 0;
+                    consistent = true;
 
                     if (!baseEnumerator.visitSolution(++currentIndex, joinVisitor)) {
                         iterator = null;
                         return;
                     }
 
-                    if (joinVariables.size() == joinCount) {
+                    if (consistent && map.keySet().containsAll(joinVariables)) {
                         joinIndices.add(currentIndex);
                         return;
                     }
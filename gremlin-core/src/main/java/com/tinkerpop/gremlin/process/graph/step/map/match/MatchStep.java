@@ -8,10 +8,12 @@ import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
 import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserSet;
 import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -37,20 +39,39 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
 
     private static final String ANON_LABEL_PREFIX = "_";
 
+    /**
+     * The default cost model orders the traversals by their expected number of solutions (as measured by the
+     * solutions of their branch of the query plan, or else by their branch factor) relative to their cost.
+     */
+    public static final CostModel DEFAULT_COST_MODEL = (matchStep, wrapper) -> (wrapper.findCardinality() - 1) / matchStep.findCost(wrapper);
+
     // optimize before processing each start object, by default
     private static final int DEFAULT_STARTS_PER_OPTIMIZE = 1;
 
+    // solve for each start object as it arrives, by default
+    private static final int DEFAULT_STARTS_PER_BATCH = 1;
+
+    // the solutions of a branch are only shared by the starts of a batch if they do not depend on the start's path or sack
+    private static final Set<TraverserRequirement> START_DEPENDENT_REQUIREMENTS = EnumSet.of(
+            TraverserRequirement.PATH, TraverserRequirement.PATH_ACCESS, TraverserRequirement.SACK);
+
     private final String startLabel;
     private final Map<String, List<TraversalWrapper<S, S>>> traversalsByStartAs;
     private final List<Traversal> traversals = new ArrayList<>();
 
     private int startsPerOptimize = DEFAULT_STARTS_PER_OPTIMIZE;
+    private int startsPerBatch = DEFAULT_STARTS_PER_BATCH;
+    private CostModel costModel = DEFAULT_COST_MODEL;
     private int optimizeCounter = -1;
     private int anonLabelCounter = 0;
 
     private Enumerator<S> currentSolution;
     private int currentIndex;
 
+    // the distinct starts of the current batch (with their bulks merged) and the solutions of their shared bindings
+    private final TraverserSet<S> batch = new TraverserSet<>();
+    private Map<String, Map<S, Enumerator<S>>> batchSolutions = null;
+
     // initial value allows MatchStep to be used as a stand-alone query engine
     private Traverser.Admin<S> currentStart;
 
@@ -69,6 +90,12 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
 
     @Override
     public Set<TraverserRequirement> getRequirements() {
+        if (this.startsPerBatch > 1) {
+            // the identical starts of a batch are merged and thus, the traversers must support bulking
+            final Set<TraverserRequirement> requirements = new HashSet<>(TraversalHolder.super.getRequirements());
+            requirements.add(TraverserRequirement.BULK);
+            return requirements;
+        }
         return TraversalHolder.super.getRequirements();
     }
 
@@ -99,37 +126,99 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         this.startsPerOptimize = startsPerOptimize;
     }
 
+    /**
+     * Sets the number of starts which are solved for as a batch. The identical starts of a batch are merged (i.e.
+     * their bulks are summed) and solved for once, and within a batch, the branch of the query plan at an as-label is
+     * solved for once per distinct value bound to the as-label. The query plan is optimized at most once per batch.
+     * Batching requires bulking traversers and thus, it must be set before the traversal generates its traversers.
+     *
+     * @param startsPerBatch the maximum number of starts in a batch (1 disables batching)
+     */
+    public void setStartsPerBatch(final int startsPerBatch) {
+        if (startsPerBatch < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.startsPerBatch = startsPerBatch;
+    }
+
+    /**
+     * Sets the cost model which determines the order in which the traversals at each as-label are joined.
+     *
+     * @param costModel the cost model to use when the query plan is optimized
+     */
+    public void setCostModel(final CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    public CostModel getCostModel() {
+        return this.costModel;
+    }
+
     @Override
     protected Traverser<Map<String, E>> processNextStart() throws NoSuchElementException {
-        final Map<String, E> map = new HashMap<>();
-        final Traverser<Map<String, E>> result = this.currentStart.split(map, this);
-        final BiConsumer<String, S> resultSetter = (name, value) -> map.put(name, (E) value);
-
         while (true) { // break out when the current solution is exhausted and there are no more starts
             if (null == this.currentSolution) {
-                if (this.starts.hasNext()) {
-                    this.optimizeCounter = (this.optimizeCounter + 1) % this.startsPerOptimize;
-                    if (0 == this.optimizeCounter) {
-                        optimize();
-                    }
-
-                    this.currentStart = this.starts.next();
-                    this.currentSolution = solveFor(IteratorUtils.of(this.currentStart.get()));
-                    this.currentIndex = 0;
-                } else {
+                if (!(this.startsPerBatch > 1 ? this.nextBatchedStart() : this.nextStart())) {
                     throw FastNoSuchElementException.instance();
                 }
             }
 
-            map.clear();
-            if (this.currentSolution.visitSolution(this.currentIndex++, resultSetter)) {
-                return result;
+            final Map<String, E> map = new HashMap<>();
+            if (this.currentSolution.visitSolution(this.currentIndex++, (name, value) -> map.put(name, (E) value))) {
+                // the solution has the bulk of its (possibly merged) start
+                return this.currentStart.split(map, this);
             } else {
                 this.currentSolution = null;
             }
         }
     }
 
+    private boolean nextStart() {
+        if (!this.starts.hasNext()) {
+            return false;
+        }
+
+        this.optimizeCounter = (this.optimizeCounter + 1) % this.startsPerOptimize;
+        if (0 == this.optimizeCounter) {
+            optimize();
+        }
+
+        this.currentStart = this.starts.next();
+        this.currentSolution = solveFor(IteratorUtils.of(this.currentStart.get()));
+        this.currentIndex = 0;
+        return true;
+    }
+
+    private boolean nextBatchedStart() {
+        if (this.batch.isEmpty()) {
+            this.batchSolutions = null;
+            int batchSize = 0;
+            Traverser.Admin<S> start;
+            while (batchSize < this.startsPerBatch && null != (start = this.starts.pollBatched())) {
+                this.batch.add(start);
+                batchSize++;
+            }
+            if (this.batch.isEmpty()) {
+                return false;
+            }
+
+            if (this.optimizeCounter < 0 || this.optimizeCounter >= this.startsPerOptimize) {
+                optimize();
+                this.optimizeCounter = 0;
+            }
+            this.optimizeCounter += batchSize;
+
+            if (Collections.disjoint(this.getRequirements(), START_DEPENDENT_REQUIREMENTS)) {
+                this.batchSolutions = new HashMap<>();
+            }
+        }
+
+        this.currentStart = this.batch.remove();
+        this.currentSolution = solveFor(IteratorUtils.of(this.currentStart.get()));
+        this.currentIndex = 0;
+        return true;
+    }
+
     /**
      * @return a description of the current state of this step, including the query plan and gathered statistics
      */
@@ -256,29 +345,57 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         } else {
             // for each value bound to localStartAs, feed it into all out-traversals in parallel and join the results
             return new SerialEnumerator<>(localStartAs, inputs, o -> {
-                Enumerator<S> result = null;
-                Set<String> leftLabels = new HashSet<>();
-
-                for (TraversalWrapper<S, S> w : outs) {
-                    TraversalUpdater<S, S> updater
-                            = new TraversalUpdater<>(w, IteratorUtils.of(o), currentStart, this.getId());
-
-                    Set<String> rightLabels = new HashSet<>();
-                    addVariables(w.endLabel, rightLabels);
-                    Enumerator<S> ie = solveFor(w.endLabel, updater);
-                    result = null == result ? ie : crossJoin(result, ie, leftLabels, rightLabels);
-                    leftLabels.addAll(rightLabels);
+                if (null == this.batchSolutions) {
+                    return solveOutsFor(outs, o);
                 }
 
+                // within a batch, the (exhausted) solutions of each value are shared by all the starts that bind it
+                Map<S, Enumerator<S>> solutions = this.batchSolutions.get(localStartAs);
+                if (null == solutions) {
+                    solutions = new HashMap<>();
+                    this.batchSolutions.put(localStartAs, solutions);
+                }
+                Enumerator<S> result = solutions.get(o);
+                if (null == result) {
+                    result = solveOutsFor(outs, o);
+                    int i = 0;
+                    while (result.visitSolution(i, (BiConsumer<String, S>) TRIVIAL_CONSUMER)) {
+                        i++;
+                    }
+                    solutions.put(o, result);
+                }
                 return result;
             });
         }
     }
 
-    private <T> Enumerator<T> crossJoin(final Enumerator<T> left,
-                                        final Enumerator<T> right,
-                                        final Set<String> leftLabels,
-                                        final Set<String> rightLabels) {
+    private Enumerator<S> solveOutsFor(final List<TraversalWrapper<S, S>> outs,
+                                       final S o) {
+        Enumerator<S> result = null;
+        Set<String> leftLabels = new HashSet<>();
+        double leftCardinality = 1.0;
+
+        for (TraversalWrapper<S, S> w : outs) {
+            TraversalUpdater<S, S> updater
+                    = new TraversalUpdater<>(w, IteratorUtils.of(o), currentStart, this.getId());
+
+            Set<String> rightLabels = new HashSet<>();
+            addVariables(w.endLabel, rightLabels);
+            Enumerator<S> ie = new CardinalityEnumerator<>(w, solveFor(w.endLabel, updater));
+            result = null == result ? ie : join(result, ie, leftLabels, rightLabels, leftCardinality, w.findCardinality());
+            leftLabels.addAll(rightLabels);
+            leftCardinality *= w.findCardinality();
+        }
+
+        return result;
+    }
+
+    private <T> Enumerator<T> join(final Enumerator<T> left,
+                                   final Enumerator<T> right,
+                                   final Set<String> leftLabels,
+                                   final Set<String> rightLabels,
+                                   final double leftCardinality,
+                                   final double rightCardinality) {
         Set<String> shared = new HashSet<>();
         for (String s : rightLabels) {
             if (leftLabels.contains(s)) {
@@ -286,8 +403,14 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             }
         }
 
-        Enumerator<T> cj = new CrossJoinEnumerator<>(left, right);
-        return shared.size() > 0 ? new InnerJoinEnumerator<>(cj, shared) : cj;
+        if (shared.isEmpty()) {
+            return new CrossJoinEnumerator<>(left, right);
+        }
+
+        // build the hash table on the side which is expected to have fewer solutions
+        return leftCardinality < rightCardinality
+                ? new HashJoinEnumerator<>(right, left, shared)
+                : new HashJoinEnumerator<>(left, right, shared);
     }
 
     // recursively add all non-anonymous variables from a starting point in the query
@@ -330,13 +453,18 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         if (null != outs) {
             for (TraversalWrapper<S, S> t : outs) {
                 optimizeAt(t.endLabel);
-                updateOrderingFactor(t);
+                t.orderingFactor = this.costModel.findOrderingFactor(this, t);
             }
             Collections.sort(outs);
         }
     }
 
-    private double findCost(final TraversalWrapper<S, S> root) {
+    /**
+     * @param root a traversal in the query
+     * @return the expected cost, in the current query plan, of applying the traversal and the branch of the query
+     * plan at its end-label to one start value
+     */
+    public double findCost(final TraversalWrapper<?, ?> root) {
         double bf = root.findBranchFactor();
         return bf + findCost(root.endLabel, root.findBranchFactor());
     }
@@ -367,10 +495,6 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         return findCost(outLabel, 1.0);
     }
 
-    private void updateOrderingFactor(final TraversalWrapper<S, S> w) {
-        w.orderingFactor = ((w.findBranchFactor() - 1) / findCost(w));
-    }
-
     @Override
     public List<Traversal> getLocalTraversals() {
         return this.traversals;
@@ -390,6 +514,8 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         private final String startLabel, endLabel;
         private int totalInputs = 0;
         private int totalOutputs = 0;
+        private int totalSolutionInputs = 0;
+        private long totalSolutions = 0;
         private double orderingFactor;
 
         public TraversalWrapper(final Traversal<A, B> traversal,
@@ -408,6 +534,19 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
             this.totalOutputs += outputs;
         }
 
+        public void incrementSolutions(final int solutions) {
+            this.totalSolutionInputs++;
+            this.totalSolutions += solutions;
+        }
+
+        /**
+         * @return the average number of solutions of the branch of the query plan at this traversal per input
+         * (i.e. its real cardinality), or the branch factor of the traversal if no branch has been exhausted
+         */
+        public double findCardinality() {
+            return 0 == this.totalSolutionInputs ? this.findBranchFactor() : this.totalSolutions / ((double) this.totalSolutionInputs);
+        }
+
         // TODO: take variance into account, to avoid penalizing traversals for early encounters with super-inputs, or simply for never having been tried
         public double findBranchFactor() {
             return 0 == this.totalInputs ? 1 : this.totalOutputs / ((double) this.totalInputs);
@@ -433,6 +572,52 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
         }
     }
 
+    /**
+     * A cost model determines the order in which the traversals at an as-label are joined.
+     * The traversals with the lowest ordering factor are joined first.
+     */
+    @FunctionalInterface
+    public interface CostModel {
+
+        /**
+         * @param matchStep the match step whose query plan is being optimized
+         * @param wrapper   a traversal in the query, with its gathered statistics
+         * @return the ordering factor of the traversal
+         */
+        double findOrderingFactor(final MatchStep<?, ?> matchStep, final TraversalWrapper<?, ?> wrapper);
+    }
+
+    // an enumerator which records the number of solutions of a branch of the query plan once it is exhausted
+    private static class CardinalityEnumerator<T> implements Enumerator<T> {
+        private final TraversalWrapper<?, ?> w;
+        private final Enumerator<T> baseEnumerator;
+        private boolean recorded = false;
+
+        private CardinalityEnumerator(final TraversalWrapper<?, ?> w,
+                                      final Enumerator<T> baseEnumerator) {
+            this.w = w;
+            this.baseEnumerator = baseEnumerator;
+        }
+
+        @Override
+        public int size() {
+            return this.baseEnumerator.size();
+        }
+
+        @Override
+        public boolean visitSolution(final int index,
+                                     final BiConsumer<String, T> visitor) {
+            if (this.baseEnumerator.visitSolution(index, visitor)) {
+                return true;
+            }
+            if (!this.recorded) {
+                this.recorded = true;
+                this.w.incrementSolutions(this.baseEnumerator.size());
+            }
+            return false;
+        }
+    }
+
     /**
      * A helper object which wraps a traversal, submitting starts and counting results per start
      */
@@ -458,6 +643,10 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> imple
                     o -> {
                         final Traverser.Admin<A> traverser = ((Traverser.Admin<A>) start).split();
                         traverser.set((A) o);
+                        // the bulk of the start is carried by the solutions (not by each output of the traversal)
+                        if (1l != traverser.bulk()) {
+                            traverser.setBulk(1l);
+                        }
                         return traverser;
                     });
 
@@ -13,6 +13,7 @@ import com.tinkerpop.gremlin.structure.Vertex;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
@@ -21,18 +22,26 @@ import java.util.function.Supplier;
 public class GraphStep<E extends Element> extends StartStep<E> implements EngineDependent {
 
     protected final Class<E> returnClass;
-    protected final Object[] ids;
-    protected final Graph graph;
-    protected Supplier<Iterator<E>> iteratorSupplier;
+    protected Object[] ids;
+    protected Graph graph;
+    // if no iterator supplier is set, the elements of the step are iterated (see GraphStep#elements)
+    protected Supplier<Iterator<E>> iteratorSupplier = null;
 
     public GraphStep(final Traversal traversal, final Graph graph, final Class<E> returnClass, final Object... ids) {
         super(traversal);
         this.graph = graph;
         this.returnClass = returnClass;
         this.ids = ids;
-        this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
+    }
+
+    /**
+     * Get the elements of the graph with the ids of the step. The elements are read from the state of the step
+     * when the traversers are generated and thus, a clone of the step iterates its own graph and ids.
+     */
+    protected Iterator<E> elements() {
+        return (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
                 this.graph.iterators().vertexIterator(this.ids) :
-                this.graph.iterators().edgeIterator(this.ids)));
+                this.graph.iterators().edgeIterator(this.ids));
     }
 
     public String toString() {
@@ -55,6 +64,10 @@ public class GraphStep<E extends Element> extends StartStep<E> implements Engine
         this.iteratorSupplier = iteratorSupplier;
     }
 
+    public Optional<Supplier<Iterator<E>>> getIteratorSupplier() {
+        return Optional.ofNullable(this.iteratorSupplier);
+    }
+
     public <G extends Graph> G getGraph(final Class<G> graphClass) {
         return (G) this.graph;
     }
@@ -63,10 +76,18 @@ public class GraphStep<E extends Element> extends StartStep<E> implements Engine
         return this.ids;
     }
 
+    public void setGraph(final Graph graph) {
+        this.graph = graph;
+    }
+
+    public void setIds(final Object... ids) {
+        this.ids = ids;
+    }
+
     @Override
     public void generateTraversers(final TraverserGenerator traverserGenerator) {
         try {
-            this.start = this.iteratorSupplier.get();
+            this.start = null == this.iteratorSupplier ? this.elements() : this.iteratorSupplier.get();
             super.generateTraversers(traverserGenerator);
             // TODO: rjbriod - is this catch necessary even with profiling removed?
         } catch (final Exception e) {
@@ -2,6 +2,7 @@ package com.tinkerpop.gremlin.process.graph.step.sideEffect;
 
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -29,4 +30,13 @@ public final class InjectStep<S> extends SideEffectStep<S> {
         }
         return super.processNextStart();
     }
+
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        if (this.first) {
+            this.addStarts((Iterator) this.getTraversal().asAdmin().getTraverserGenerator().generateIterator(this.injections.iterator(), this, 1l));
+            this.first = false;
+        }
+        return super.processNextBatch(batch);
+    }
 }
@@ -10,6 +10,7 @@ import com.tinkerpop.gremlin.process.graph.marker.Reversible;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.mapreduce.ProfileMapReduce;
 import com.tinkerpop.gremlin.process.util.StandardTraversalMetrics;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 
 /**
  * @author Bob Briody (http://bobbriody.com)
@@ -61,6 +62,16 @@ public final class ProfileStep<S> extends SideEffectStep<S> implements Reversibl
         return ret;
     }
 
+    @Override
+    public boolean nextBatch(final TraverserBatch<S> batch) {
+        // profile one traverser at a time so that the timers only wrap the profiled step
+        if (this.hasNext()) {
+            batch.add((Traverser.Admin<S>) this.next());
+            return true;
+        } else
+            return false;
+    }
+
     private StandardTraversalMetrics getTraversalMetricsUtil() {
         StandardTraversalMetrics traversalMetrics = this.getTraversal().asAdmin().getSideEffects().getOrCreate(TraversalMetrics.METRICS_KEY, StandardTraversalMetrics::new);
         final boolean isComputer = this.traversal.asAdmin().getTraversalEngine().get().equals(TraversalEngine.COMPUTER);
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.marker.Reversible;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 import com.tinkerpop.gremlin.util.function.CloneableLambda;
 
 import java.util.function.Consumer;
@@ -30,6 +31,12 @@ public class SideEffectStep<S> extends AbstractStep<S, S> implements Reversible
         return traverser;
     }
 
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        // the sideEffects of a consumer may be observed by the following steps so they are yielded one at a time
+        return null == this.consumer ? this.starts.nextBatch(batch) : this.processNextStartInto(batch);
+    }
+
     @Override
     public SideEffectStep<S> clone() throws CloneNotSupportedException {
         final SideEffectStep<S> clone = (SideEffectStep<S>) super.clone();
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.TraverserGenerator;
 import com.tinkerpop.gremlin.process.graph.marker.Reversible;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 
 import java.util.Iterator;
@@ -60,4 +61,13 @@ public class StartStep<S> extends SideEffectStep<S> implements Reversible {
         }
         return super.processNextStart();
     }
+
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        if (this.first) {
+            this.generateTraversers(this.getTraversal().asAdmin().getTraverserGenerator());
+            this.first = false;
+        }
+        return super.processNextBatch(batch);
+    }
 }
@@ -35,7 +35,11 @@ public class BarrierStep<S> extends AbstractStep<S, S> implements Barrier {
     @Override
     public Traverser<S> processNextStart() {
         if (this.starts.hasNext()) {
-            this.starts.forEachRemaining(this.traverserSet::add);
+            // the barrier drains the starts so they are pulled a batch at a time
+            Traverser.Admin<S> start;
+            while (null != (start = this.starts.pollBatched())) {
+                this.traverserSet.add(start);
+            }
             if (null != this.barrierConsumer) this.barrierConsumer.accept(this.traverserSet);
         }
         return this.traverserSet.remove();
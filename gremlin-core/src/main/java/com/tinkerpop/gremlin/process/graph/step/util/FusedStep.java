@@ -0,0 +1,169 @@
+package com.tinkerpop.gremlin.process.graph.step.util;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link FusedStep} processes its starts through a chain of map, flatMap, and filter steps in a single step.
+ * Each traverser is pushed depth-first through the functions and predicates of the fused steps and thus, the fused
+ * steps neither buffer their starts nor have their ends routed to the next fused step. The traversers are split by
+ * the fused steps as they would have been had the steps not been fused (i.e. the bulk, path, and sack are the same).
+ * The fused steps must not hold state that spans traversers (e.g. a range or a dedup).
+ *
+ * @author agent (agent@local)
+ */
+public final class FusedStep<S, E> extends AbstractStep<S, E> {
+
+    private final List<Step<?, ?>> fusedSteps;
+    private final Function<Traverser, Object>[] mapFunctions;
+    private final Function<Traverser, Iterator>[] flatMapFunctions;
+    private final Predicate<Traverser>[] predicates;
+    // the flatMap steps whose iterators have yet to be drained (the deepest is last)
+    private final int[] pending;
+    private int pendingSize = 0;
+    private final Traverser.Admin[] heads;
+    private final Iterator[] iterators;
+
+    public FusedStep(final Traversal traversal, final List<Step<?, ?>> fusedSteps) {
+        super(traversal);
+        this.fusedSteps = fusedSteps;
+        final int size = fusedSteps.size();
+        this.mapFunctions = new Function[size];
+        this.flatMapFunctions = new Function[size];
+        this.predicates = new Predicate[size];
+        for (int i = 0; i < size; i++) {
+            final Step<?, ?> step = fusedSteps.get(i);
+            if (step instanceof MapStep)
+                this.mapFunctions[i] = (Function) ((MapStep) step).getFunction();
+            else if (step instanceof FlatMapStep)
+                this.flatMapFunctions[i] = (Function) ((FlatMapStep) step).getFunction();
+            else if (step instanceof FilterStep)
+                this.predicates[i] = (Predicate) ((FilterStep) step).getPredicate();
+            else
+                throw new IllegalArgumentException("Only map, flatMap, and filter steps can be fused: " + step);
+        }
+        this.pending = new int[size];
+        this.heads = new Traverser.Admin[size];
+        this.iterators = new Iterator[size];
+    }
+
+    public List<Step<?, ?>> getFusedSteps() {
+        return this.fusedSteps;
+    }
+
+    @Override
+    protected Traverser<E> processNextStart() {
+        return this.advance(false);
+    }
+
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<E> batch) {
+        if (!this.processesBatches())
+            return this.processNextStartInto(batch);
+        final int from = batch.size();
+        Traverser.Admin<E> end;
+        while (!batch.isFull() && null != (end = this.advance(true))) {
+            batch.add(end);
+        }
+        return batch.size() > from;
+    }
+
+    private Traverser.Admin<E> advance(final boolean batched) {
+        while (true) {
+            Traverser.Admin traverser;
+            int index;
+            if (this.pendingSize > 0) {
+                final int deepest = this.pending[this.pendingSize - 1];
+                if (!this.iterators[deepest].hasNext()) {
+                    this.heads[deepest] = null;
+                    this.iterators[deepest] = null;
+                    this.pendingSize--;
+                    continue;
+                }
+                traverser = this.heads[deepest].split(this.iterators[deepest].next(), this.fusedSteps.get(deepest));
+                index = deepest + 1;
+            } else {
+                traverser = batched ? this.starts.pollBatched() : this.starts.next();
+                if (null == traverser)
+                    return null;
+                index = 0;
+            }
+            for (; null != traverser && index < this.fusedSteps.size(); index++) {
+                if (null != this.mapFunctions[index]) {
+                    traverser = traverser.split(this.mapFunctions[index].apply(traverser), this.fusedSteps.get(index));
+                } else if (null != this.predicates[index]) {
+                    if (!this.predicates[index].test(traverser))
+                        traverser = null;
+                } else {
+                    this.heads[index] = traverser;
+                    this.iterators[index] = this.flatMapFunctions[index].apply(traverser);
+                    this.pending[this.pendingSize++] = index;
+                    traverser = null;
+                }
+            }
+            if (null != traverser)
+                return traverser;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        Arrays.fill(this.heads, null);
+        Arrays.fill(this.iterators, null);
+        this.pendingSize = 0;
+    }
+
+    @Override
+    protected boolean processesBatches() {
+        return this.fusedSteps.stream().noneMatch(step -> TraversalHelper.getDeclaredRequirements(step).contains(TraverserRequirement.PATH_ACCESS));
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        final Set<TraverserRequirement> requirements = new HashSet<>();
+        this.fusedSteps.forEach(step -> requirements.addAll(step.getRequirements()));
+        return requirements;
+    }
+
+    @Override
+    public void setTraversal(final Traversal<?, ?> traversal) {
+        super.setTraversal(traversal);
+        this.fusedSteps.forEach(step -> step.setTraversal(traversal));
+    }
+
+    @Override
+    public String toString() {
+        return TraversalHelper.makeStepString(this, this.fusedSteps);
+    }
+
+    @Override
+    public FusedStep<S, E> clone() throws CloneNotSupportedException {
+        final List<Step<?, ?>> fusedSteps = new ArrayList<>(this.fusedSteps.size());
+        for (final Step<?, ?> step : this.fusedSteps) {
+            fusedSteps.add(step.clone());
+        }
+        final FusedStep<S, E> clone = new FusedStep<>(this.traversal, fusedSteps);
+        clone.setId(this.id);
+        if (this.label.isPresent())
+            clone.setLabel(this.label.get());
+        return clone;
+    }
+}
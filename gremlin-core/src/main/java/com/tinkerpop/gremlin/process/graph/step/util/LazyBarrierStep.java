@@ -0,0 +1,85 @@
+package com.tinkerpop.gremlin.process.graph.step.util;
+
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
+import com.tinkerpop.gremlin.process.util.TraverserSet;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A {@link LazyBarrierStep} is a bounded {@link BarrierStep}. It collects its starts into a {@link TraverserSet}
+ * (merging the equal traversers into one bulked traverser) until the set holds the maximum number of traversers or
+ * the starts are exhausted, and then emits the merged traversers. Unlike a barrier, the step does not drain its starts
+ * and thus, the number of traversers that are held in memory is bounded.
+ *
+ * @author agent (agent@local)
+ */
+public final class LazyBarrierStep<S> extends AbstractStep<S, S> {
+
+    private final int maxBarrierSize;
+    private TraverserSet<S> traverserSet = new TraverserSet<>();
+
+    public LazyBarrierStep(final Traversal traversal, final int maxBarrierSize) {
+        super(traversal);
+        if (maxBarrierSize < 1)
+            throw new IllegalArgumentException("The maximum size of a barrier must be greater than zero: " + maxBarrierSize);
+        this.maxBarrierSize = maxBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    @Override
+    protected Traverser<S> processNextStart() {
+        if (this.traverserSet.isEmpty())
+            this.fill();
+        return this.traverserSet.remove();
+    }
+
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<S> batch) {
+        if (this.traverserSet.isEmpty())
+            this.fill();
+        final int from = batch.size();
+        while (!this.traverserSet.isEmpty() && !batch.isFull()) {
+            batch.add(this.traverserSet.remove());
+        }
+        return batch.size() > from;
+    }
+
+    private void fill() {
+        Traverser.Admin<S> start;
+        while (this.traverserSet.size() < this.maxBarrierSize && null != (start = this.starts.pollBatched())) {
+            this.traverserSet.add(start);
+        }
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.BULK);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.traverserSet.clear();
+    }
+
+    @Override
+    public String toString() {
+        return TraversalHelper.makeStepString(this, this.maxBarrierSize);
+    }
+
+    @Override
+    public LazyBarrierStep<S> clone() throws CloneNotSupportedException {
+        final LazyBarrierStep<S> clone = (LazyBarrierStep<S>) super.clone();
+        clone.traverserSet = new TraverserSet<>();
+        return clone;
+    }
+}
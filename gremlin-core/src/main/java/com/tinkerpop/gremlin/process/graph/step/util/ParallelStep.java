@@ -0,0 +1,168 @@
+package com.tinkerpop.gremlin.process.graph.step.util;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraverserBatch;
+import com.tinkerpop.gremlin.process.util.TraverserSet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A {@link ParallelStep} executes a start step and a pipeline of steps that follow it in parallel.
+ * The traversers of the start step are generated on the calling thread and are streamed in splits to a {@link ForkJoinPool}
+ * where at most a few splits per thread of the pool are in flight (i.e. the starts are not all held in memory at once).
+ * Each split is processed by a clone of the pipeline and the resultant traversers of the splits are merged
+ * (i.e. bulked) into a {@link TraverserSet} that the step then yields. Thus, the pipeline must not hold state that
+ * spans traversers (e.g. a range or a dedup) and its lambdas must be thread safe.
+ *
+ * @author agent (agent@local)
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> {
+
+    // the number of in-flight splits per thread of the pool so that the threads are balanced when splits differ in cost
+    private static final int SPLITS_PER_THREAD = 4;
+    // the number of starts in a split
+    private static final int SPLIT_SIZE = 4 * TraverserBatch.DEFAULT_CAPACITY;
+
+    private final Step<?, S> startStep;
+    private final Traversal.Admin<S, E> pipeline;
+    private final ForkJoinPool pool;
+    private TraverserSet<E> results = null;
+
+    public ParallelStep(final Traversal traversal, final Step<?, S> startStep, final Traversal.Admin<S, E> pipeline, final ForkJoinPool pool) {
+        super(traversal);
+        this.startStep = startStep;
+        this.pipeline = pipeline;
+        this.pool = pool;
+    }
+
+    public Step<?, S> getStartStep() {
+        return this.startStep;
+    }
+
+    public Traversal.Admin<S, E> getPipeline() {
+        return this.pipeline;
+    }
+
+    @Override
+    protected Traverser<E> processNextStart() {
+        if (null == this.results)
+            this.results = this.execute();
+        return this.results.remove();
+    }
+
+    @Override
+    protected boolean processNextBatch(final TraverserBatch<E> batch) {
+        if (null == this.results)
+            this.results = this.execute();
+        final int from = batch.size();
+        while (!this.results.isEmpty() && !batch.isFull()) {
+            batch.add(this.results.remove());
+        }
+        return batch.size() > from;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.startStep.reset();
+        this.results = null;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        final Set<TraverserRequirement> requirements = new HashSet<>(this.startStep.getRequirements());
+        requirements.addAll(TraversalHelper.getRequirements(this.pipeline));
+        requirements.add(TraverserRequirement.BULK);
+        return requirements;
+    }
+
+    @Override
+    public String toString() {
+        return TraversalHelper.makeStepString(this, this.startStep, this.pipeline);
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() throws CloneNotSupportedException {
+        final Step<?, S> startStep = this.startStep.clone();
+        startStep.setTraversal(this.traversal);
+        final ParallelStep<S, E> clone = new ParallelStep<>(this.traversal, startStep, this.clonePipeline(), this.pool);
+        clone.setId(this.id);
+        if (this.label.isPresent())
+            clone.setLabel(this.label.get());
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal<?, ?> traversal) {
+        super.setTraversal(traversal);
+        this.startStep.setTraversal(traversal);
+    }
+
+    private TraverserSet<E> execute() {
+        final int maxSplits = SPLITS_PER_THREAD * this.pool.getParallelism();
+        final Deque<ForkJoinTask<TraverserSet<E>>> splits = new ArrayDeque<>(maxSplits);
+        final TraverserSet<E> results = new TraverserSet<>();
+        final TraverserBatch<S> batch = new TraverserBatch<>();
+        List<Traverser.Admin<S>> split = new ArrayList<>(SPLIT_SIZE);
+        while (this.startStep.nextBatch(batch)) {
+            for (int i = 0; i < batch.size(); i++) {
+                split.add(batch.get(i));
+                if (split.size() == SPLIT_SIZE) {
+                    // once the pool is saturated, the oldest split is merged before another is submitted
+                    if (splits.size() == maxSplits)
+                        results.addAll(splits.remove().join());
+                    splits.add(this.submit(split));
+                    split = new ArrayList<>(SPLIT_SIZE);
+                }
+            }
+            batch.clear();
+        }
+        if (!split.isEmpty())
+            splits.add(this.submit(split));
+        while (!splits.isEmpty()) {
+            results.addAll(splits.remove().join());
+        }
+        return results;
+    }
+
+    private ForkJoinTask<TraverserSet<E>> submit(final List<Traverser.Admin<S>> split) {
+        // the pipeline is cloned on the calling thread so that the splits only read their own clone
+        final Traversal.Admin<S, E> pipeline = this.clonePipeline();
+        return this.pool.submit(() -> ParallelStep.process(pipeline, split.iterator()));
+    }
+
+    private Traversal.Admin<S, E> clonePipeline() {
+        try {
+            return this.pipeline.clone().asAdmin();
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static <S, E> TraverserSet<E> process(final Traversal.Admin<S, E> pipeline, final Iterator<Traverser.Admin<S>> split) {
+        pipeline.addStarts((Iterator) split);
+        final TraverserSet<E> results = new TraverserSet<>();
+        final Step<?, E> endStep = pipeline.getEndStep();
+        final TraverserBatch<E> batch = new TraverserBatch<>();
+        while (endStep.nextBatch(batch)) {
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(batch.get(i));
+            }
+            batch.clear();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tinkerpop.gremlin.process.graph.step.util;
+
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.SideEffectStep;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link PathRetractionStep} retracts the path of each traverser to the objects whose labels are referenced by the
+ * steps that follow it (see {@link com.tinkerpop.gremlin.process.Path#retract(Set)}).
+ *
+ * @author agent (agent@local)
+ */
+public final class PathRetractionStep<S> extends SideEffectStep<S> {
+
+    private final Set<String> retainedLabels;
+
+    public PathRetractionStep(final Traversal traversal, final Set<String> retainedLabels) {
+        super(traversal);
+        this.retainedLabels = Collections.unmodifiableSet(new HashSet<>(retainedLabels));
+        this.setConsumer(traverser -> traverser.path().retract(this.retainedLabels));
+    }
+
+    public Set<String> getRetainedLabels() {
+        return this.retainedLabels;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.PATH_ACCESS);
+    }
+
+    @Override
+    public String toString() {
+        return TraversalHelper.makeStepString(this, this.retainedLabels);
+    }
+}
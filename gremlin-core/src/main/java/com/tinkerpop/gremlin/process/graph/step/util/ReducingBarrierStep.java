@@ -51,8 +51,11 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         if (this.done)
             throw FastNoSuchElementException.instance();
         E seed = this.seedSupplier.get();
-        while (this.starts.hasNext())
-            seed = this.reducingBiFunction.apply(seed, this.starts.next());
+        // the barrier drains the starts so they are pulled a batch at a time
+        Traverser.Admin<S> start;
+        while (null != (start = this.starts.pollBatched())) {
+            seed = this.reducingBiFunction.apply(seed, start);
+        }
         this.done = true;
         return this.getTraversal().asAdmin().getTraverserGenerator().generate(seed, (Step) this, 1l);
     }
@@ -35,8 +35,9 @@ public class SupplierBarrierStep<S, E> extends AbstractStep<S, E> {
     public Traverser<E> processNextStart() {
         if (this.done)
             throw FastNoSuchElementException.instance();
-        while (this.starts.hasNext())
-            this.starts.next();
+        while (null != this.starts.pollBatched()) {
+            // the barrier drains the starts so they are pulled a batch at a time
+        }
         this.done = true;
         return this.getTraversal().asAdmin().getTraverserGenerator().generate(this.supplier.get(), (Step) this, 1l);
     }
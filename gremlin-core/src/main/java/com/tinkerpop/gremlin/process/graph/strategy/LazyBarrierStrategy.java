@@ -0,0 +1,113 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.marker.Barrier;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.util.LazyBarrierStep;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.EmptyStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link LazyBarrierStrategy} inserts a {@link LazyBarrierStep} before every flatMap step (e.g. out()) that is
+ * preceded by another flatMap step. Thus, the traversers of a fan-out (e.g. g.V().out().out().out().count()) are
+ * merged into bulked traversers before they are fanned out again. The barriers are only inserted into standard
+ * traversals whose traversers do not have a path, a sack, or loops (as merged traversers share these). The path access
+ * that the map steps (e.g. values()) report by default is not considered an access unless the step is a lambda map()
+ * (see {@link TraversalHelper#getDeclaredRequirements}).
+ * The strategy is not registered by default as the merging of traversers changes the order in which they are emitted.
+ *
+ * @author agent (agent@local)
+ */
+public class LazyBarrierStrategy extends AbstractTraversalStrategy {
+
+    public static final int DEFAULT_MAX_BARRIER_SIZE = 10000;
+
+    private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy(DEFAULT_MAX_BARRIER_SIZE);
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+    private static final Set<Class<? extends TraversalStrategy>> POSTS = new HashSet<>();
+    private static final Set<TraverserRequirement> UNMERGEABLE_REQUIREMENTS = EnumSet.of(
+            TraverserRequirement.PATH, TraverserRequirement.PATH_ACCESS, TraverserRequirement.SACK,
+            TraverserRequirement.SINGLE_LOOP, TraverserRequirement.NESTED_LOOP);
+
+    static {
+        PRIORS.add(ComparatorHolderRemovalStrategy.class);
+        PRIORS.add(DedupOptimizerStrategy.class);
+        PRIORS.add(EngineDependentStrategy.class);
+        PRIORS.add(IdentityRemovalStrategy.class);
+        PRIORS.add(LabeledEndStepStrategy.class);
+        PRIORS.add(MatchWhereStrategy.class);
+        PRIORS.add(ProfileStrategy.class);
+        PRIORS.add(ReducingStrategy.class);
+        PRIORS.add(RouteStrategy.class);
+        PRIORS.add(SideEffectCapStrategy.class);
+        PRIORS.add(SideEffectRegistrationStrategy.class);
+        // the barriers delimit the steps that are fused and parallelized
+        POSTS.add(StepFusionStrategy.class);
+        POSTS.add(ParallelStrategy.class);
+    }
+
+    private final int maxBarrierSize;
+
+    private LazyBarrierStrategy(final int maxBarrierSize) {
+        if (maxBarrierSize < 1)
+            throw new IllegalArgumentException("The maximum size of a barrier must be greater than zero: " + maxBarrierSize);
+        this.maxBarrierSize = maxBarrierSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER) ||
+                !(traversal.getTraversalHolder() instanceof EmptyStep) ||
+                !Collections.disjoint(TraversalHelper.getDeclaredRequirements(traversal), UNMERGEABLE_REQUIREMENTS))
+            return;
+
+        final List<Step<?, ?>> fanOutSteps = new ArrayList<>();
+        boolean fannedOut = false;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof FlatMapStep) {
+                if (fannedOut && !(step.getPreviousStep() instanceof Barrier) && !(step.getPreviousStep() instanceof LazyBarrierStep))
+                    fanOutSteps.add(step);
+                fannedOut = true;
+            }
+        }
+        for (final Step<?, ?> step : fanOutSteps) {
+            TraversalHelper.insertBeforeStep(new LazyBarrierStep<>(traversal, this.maxBarrierSize), (Step) step, traversal);
+        }
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static LazyBarrierStrategy instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a {@link LazyBarrierStrategy} whose barriers hold at most the provided number of (merged) traversers.
+     */
+    public static LazyBarrierStrategy create(final int maxBarrierSize) {
+        return DEFAULT_MAX_BARRIER_SIZE == maxBarrierSize ? INSTANCE : new LazyBarrierStrategy(maxBarrierSize);
+    }
+}
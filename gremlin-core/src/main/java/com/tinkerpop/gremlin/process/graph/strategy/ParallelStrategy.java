@@ -0,0 +1,126 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.marker.Ranging;
+import com.tinkerpop.gremlin.process.graph.step.filter.DedupStep;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.filter.TimeLimitStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
+import com.tinkerpop.gremlin.process.graph.step.util.FusedStep;
+import com.tinkerpop.gremlin.process.graph.step.util.ParallelStep;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.DefaultTraversal;
+import com.tinkerpop.gremlin.process.util.EmptyStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@link ParallelStrategy} executes the {@link GraphStep} of a standard traversal and the steps that follow it in
+ * parallel (see {@link ParallelStep}). The steps that are parallelized are those that process each traverser
+ * independently of the others: the map, flatMap and filter steps (save those that range or dedup), fused steps, and identities.
+ * A traversal whose steps require the path or the sack of the traversers (e.g. a select(), a back(), or a path()) is not
+ * parallelized as the paths and sacks that every step extends are not safe to compute concurrently (e.g. the paths of the
+ * traversers are cached).
+ * The parallelized steps end at the first other step (e.g. a barrier, a sideEffect, or a branch) which then processes
+ * the merged (i.e. bulked) traversers of the parallelized steps on the calling thread. Thus, the reductions of the
+ * barriers are not parallelized (i.e. they are not merged from per-split reducers). The strategy is not registered
+ * by default and is to be added to the strategies of the traversals that are to be executed in parallel. The
+ * {@link #instance} executes on the common {@link ForkJoinPool} while {@link #create} executes on the provided pool.
+ *
+ * @author agent (agent@local)
+ */
+public class ParallelStrategy extends AbstractTraversalStrategy {
+
+    private static final ParallelStrategy INSTANCE = new ParallelStrategy(ForkJoinPool.commonPool());
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+    private static final Set<TraverserRequirement> SERIAL_REQUIREMENTS = EnumSet.of(TraverserRequirement.PATH, TraverserRequirement.PATH_ACCESS, TraverserRequirement.SACK);
+
+    static {
+        // the steps are parallelized once they have been otherwise optimized
+        PRIORS.add(ComparatorHolderRemovalStrategy.class);
+        PRIORS.add(DedupOptimizerStrategy.class);
+        PRIORS.add(EngineDependentStrategy.class);
+        PRIORS.add(IdentityRemovalStrategy.class);
+        PRIORS.add(LabeledEndStepStrategy.class);
+        PRIORS.add(MatchWhereStrategy.class);
+        PRIORS.add(ProfileStrategy.class);
+        PRIORS.add(ReducingStrategy.class);
+        PRIORS.add(RouteStrategy.class);
+        PRIORS.add(SideEffectCapStrategy.class);
+        PRIORS.add(SideEffectRegistrationStrategy.class);
+        PRIORS.add(StepFusionStrategy.class);
+    }
+
+    private final ForkJoinPool pool;
+
+    private ParallelStrategy(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER) ||
+                !(traversal.getTraversalHolder() instanceof EmptyStep) ||
+                !(traversal.getStartStep() instanceof GraphStep) ||
+                !Collections.disjoint(TraversalHelper.getRequirements(traversal), SERIAL_REQUIREMENTS))
+            return;
+
+        final Step<?, ?> startStep = traversal.getStartStep();
+        final List<Step<?, ?>> steps = new ArrayList<>();
+        Step<?, ?> currentStep = startStep.getNextStep();
+        while (isParallelizable(currentStep)) {
+            steps.add(currentStep);
+            currentStep = currentStep.getNextStep();
+        }
+        if (steps.isEmpty())
+            return;
+
+        final Traversal.Admin pipeline = new DefaultTraversal<>(traversal.getClass());
+        pipeline.setStrategies(traversal.getStrategies());
+        pipeline.setSideEffects(traversal.getSideEffects());
+        for (final Step<?, ?> step : steps) {
+            traversal.removeStep(step);
+            final String id = step.getId();
+            pipeline.addStep(pipeline.getSteps().size(), step);
+            step.setId(id);
+            step.setTraversal(pipeline);
+        }
+        final ParallelStep<?, ?> parallelStep = new ParallelStep<>(traversal, startStep, pipeline, this.pool);
+        TraversalHelper.replaceStep((Step) startStep, (Step) parallelStep, traversal);
+        startStep.setPreviousStep(EmptyStep.instance());
+        startStep.setNextStep(EmptyStep.instance());
+    }
+
+    private static boolean isParallelizable(final Step<?, ?> step) {
+        return (step instanceof MapStep || step instanceof FlatMapStep || step instanceof FilterStep || step instanceof FusedStep || step instanceof IdentityStep) &&
+                !(step instanceof Ranging) &&
+                !(step instanceof DedupStep) &&
+                !(step instanceof TimeLimitStep);
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static ParallelStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static ParallelStrategy create(final ForkJoinPool pool) {
+        return new ParallelStrategy(pool);
+    }
+}
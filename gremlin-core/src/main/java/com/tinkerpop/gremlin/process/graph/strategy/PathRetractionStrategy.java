@@ -0,0 +1,131 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.marker.TraversalHolder;
+import com.tinkerpop.gremlin.process.graph.step.branch.BranchStep;
+import com.tinkerpop.gremlin.process.graph.step.branch.ChooseStep;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.map.BackStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.SelectStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.SideEffectStep;
+import com.tinkerpop.gremlin.process.graph.step.util.PathRetractionStep;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.EmptyStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link PathRetractionStrategy} retracts the paths of the traversers once the history that they hold is no longer
+ * referenced. The only steps that can reference the path of a traversal that is retracted are {@link BackStep} and
+ * {@link SelectStep} (both of which reference their labels). After each labeled and each label referencing step, a
+ * {@link PathRetractionStep} is inserted that retains only the objects whose labels are referenced by the steps that
+ * follow it. A traversal is not retracted if any of its steps (or the steps of its nested traversals) access the
+ * path in any other way (e.g. path(), simplePath(), tree(), or a lambda that may access the path).
+ *
+ * @author agent (agent@local)
+ */
+public class PathRetractionStrategy extends AbstractTraversalStrategy {
+
+    private static final PathRetractionStrategy INSTANCE = new PathRetractionStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+    private static final Set<Class<? extends TraversalStrategy>> POSTS = new HashSet<>();
+    // the steps that are described by their class alone and yet hold a lambda (which may access the path)
+    private static final Set<Class> LAMBDA_STEPS = new HashSet<>(Arrays.asList(
+            MapStep.class, FlatMapStep.class, FilterStep.class, SideEffectStep.class, BranchStep.class, ChooseStep.class));
+
+    static {
+        PRIORS.add(ComparatorHolderRemovalStrategy.class);
+        PRIORS.add(DedupOptimizerStrategy.class);
+        PRIORS.add(EngineDependentStrategy.class);
+        PRIORS.add(IdentityRemovalStrategy.class);
+        PRIORS.add(LabeledEndStepStrategy.class);
+        PRIORS.add(MatchWhereStrategy.class);
+        PRIORS.add(ProfileStrategy.class);
+        PRIORS.add(ReducingStrategy.class);
+        PRIORS.add(RouteStrategy.class);
+        PRIORS.add(SideEffectCapStrategy.class);
+        PRIORS.add(SideEffectRegistrationStrategy.class);
+        POSTS.add(StepFusionStrategy.class);
+    }
+
+    private PathRetractionStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (!(traversal.getTraversalHolder() instanceof EmptyStep) ||
+                !TraversalHelper.getRequirements(traversal).contains(TraverserRequirement.PATH) ||
+                TraversalHelper.hasStepOfClass(PathRetractionStep.class, traversal))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        final List<Set<String>> referencedLabels = new ArrayList<>(steps.size());
+        for (final Step step : steps) {
+            if (step instanceof BackStep)
+                referencedLabels.add(Collections.singleton(((BackStep) step).getStepLabel()));
+            else if (step instanceof SelectStep)
+                referencedLabels.add(new HashSet<>(((SelectStep) step).getSelectLabels()));
+            else if (!isRetractable(step))
+                return;
+            else
+                referencedLabels.add(Collections.emptySet());
+        }
+
+        // the labels that are referenced by the steps that follow each step
+        final Set<String> retainedLabels = new HashSet<>();
+        for (int i = steps.size() - 2; i >= 0; i--) {
+            retainedLabels.addAll(referencedLabels.get(i + 1));
+            final Step step = steps.get(i);
+            if (step.getLabel().isPresent() || !referencedLabels.get(i).isEmpty())
+                TraversalHelper.insertAfterStep(new PathRetractionStep<>(traversal, retainedLabels), step, traversal);
+        }
+    }
+
+    private static boolean isRetractable(final Step<?, ?> step) {
+        if (LAMBDA_STEPS.contains(step.getClass()))
+            return false;
+        final Set<TraverserRequirement> requirements = step.getRequirements();
+        if (requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.PATH_ACCESS))
+            return false;
+        if (step instanceof TraversalHolder) {
+            for (final Traversal<?, ?> nested : ((TraversalHolder) step).getGlobalTraversals()) {
+                for (final Step<?, ?> nestedStep : nested.asAdmin().getSteps()) {
+                    if (!isRetractable(nestedStep))
+                        return false;
+                }
+            }
+            for (final Traversal<?, ?> nested : ((TraversalHolder) step).getLocalTraversals()) {
+                for (final Step<?, ?> nestedStep : nested.asAdmin().getSteps()) {
+                    if (!isRetractable(nestedStep))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static PathRetractionStrategy instance() {
+        return INSTANCE;
+    }
+}
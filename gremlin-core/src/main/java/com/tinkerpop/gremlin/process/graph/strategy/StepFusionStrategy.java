@@ -0,0 +1,108 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.marker.EngineDependent;
+import com.tinkerpop.gremlin.process.graph.marker.FunctionHolder;
+import com.tinkerpop.gremlin.process.graph.marker.Ranging;
+import com.tinkerpop.gremlin.process.graph.marker.Reducing;
+import com.tinkerpop.gremlin.process.graph.marker.TraversalHolder;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.filter.TimeLimitStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.graph.step.util.FusedStep;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link StepFusionStrategy} fuses adjacent map, flatMap, and filter steps (e.g. out().out().has("k",v).values("x"))
+ * into a single {@link FusedStep} so that the traversers are not buffered and routed between each of the steps.
+ * A step is not fused if it is labeled, if it holds state that spans traversers (e.g. a range, a dedup, a time limit)
+ * or nested traversals, or if it accesses the path or the side-effects of the traversal. The path access that the map
+ * steps (e.g. values()) report by default is not considered an access (see {@link TraversalHelper#getDeclaredRequirements})
+ * and neither is that of a lambda map() as the fused steps are processed one traverser at a time if any of them
+ * reports a path access.
+ *
+ * @author agent (agent@local)
+ */
+public class StepFusionStrategy extends AbstractTraversalStrategy {
+
+    private static final StepFusionStrategy INSTANCE = new StepFusionStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = new HashSet<>();
+    private static final Set<TraverserRequirement> BOUNDARY_REQUIREMENTS = EnumSet.of(TraverserRequirement.PATH, TraverserRequirement.PATH_ACCESS, TraverserRequirement.SIDE_EFFECTS);
+
+    static {
+        // the steps are fused once they have been otherwise optimized
+        PRIORS.add(ComparatorHolderRemovalStrategy.class);
+        PRIORS.add(DedupOptimizerStrategy.class);
+        PRIORS.add(EngineDependentStrategy.class);
+        PRIORS.add(IdentityRemovalStrategy.class);
+        PRIORS.add(LabeledEndStepStrategy.class);
+        PRIORS.add(MatchWhereStrategy.class);
+        PRIORS.add(ProfileStrategy.class);
+        PRIORS.add(ReducingStrategy.class);
+        PRIORS.add(RouteStrategy.class);
+        PRIORS.add(SideEffectCapStrategy.class);
+        PRIORS.add(SideEffectRegistrationStrategy.class);
+    }
+
+    private StepFusionStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER))
+            return;
+
+        final List<List<Step<?, ?>>> chains = new ArrayList<>();
+        List<Step<?, ?>> chain = new ArrayList<>();
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (isFusible(step)) {
+                chain.add(step);
+            } else {
+                if (chain.size() > 1)
+                    chains.add(chain);
+                chain = new ArrayList<>();
+            }
+        }
+        if (chain.size() > 1)
+            chains.add(chain);
+
+        for (final List<Step<?, ?>> fusedSteps : chains) {
+            final FusedStep<?, ?> fusedStep = new FusedStep<>(traversal, fusedSteps);
+            TraversalHelper.insertBeforeStep((Step) fusedStep, (Step) fusedSteps.get(0), traversal);
+            fusedSteps.forEach(traversal::removeStep);
+        }
+    }
+
+    private static boolean isFusible(final Step<?, ?> step) {
+        return (step instanceof MapStep || step instanceof FlatMapStep || step instanceof FilterStep) &&
+                !step.getLabel().isPresent() &&
+                !(step instanceof Ranging) &&
+                !(step instanceof Reducing) &&
+                !(step instanceof TimeLimitStep) &&
+                !(step instanceof TraversalHolder) &&
+                !(step instanceof FunctionHolder) &&
+                !(step instanceof EngineDependent) &&
+                (MapStep.class.equals(step.getClass()) || Collections.disjoint(TraversalHelper.getDeclaredRequirements(step), BOUNDARY_REQUIREMENTS));
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static StepFusionStrategy instance() {
+        return INSTANCE;
+    }
+}
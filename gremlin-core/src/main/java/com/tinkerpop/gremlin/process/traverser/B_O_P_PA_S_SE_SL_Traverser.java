@@ -1,8 +1,10 @@
 package com.tinkerpop.gremlin.process.traverser;
 
 import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.TraversalSideEffects;
 import com.tinkerpop.gremlin.process.traverser.util.AbstractPathTraverser;
-import com.tinkerpop.gremlin.process.util.ImmutablePath;
+import com.tinkerpop.gremlin.process.util.DefaultTraversalSideEffects;
+import com.tinkerpop.gremlin.process.util.PersistentPath;
 
 import java.util.Optional;
 
@@ -18,8 +20,8 @@ public class B_O_P_PA_S_SE_SL_Traverser<T> extends AbstractPathTraverser<T> {
         super(t, step);
         final Optional<String> stepLabel = step.getLabel();
         this.path = stepLabel.isPresent() ?
-                ImmutablePath.make().extend(t, stepLabel.get()) :
-                ImmutablePath.make().extend(t);
+                PersistentPath.make(getLabelIndex(this.sideEffects)).extend(t, stepLabel.get()) :
+                PersistentPath.make(getLabelIndex(this.sideEffects)).extend(t);
     }
 
     @Override
@@ -30,11 +32,19 @@ public class B_O_P_PA_S_SE_SL_Traverser<T> extends AbstractPathTraverser<T> {
     @Override
     public boolean equals(final Object object) {
         return (object instanceof B_O_P_PA_S_SE_SL_Traverser)
-                && ((B_O_P_PA_S_SE_SL_Traverser) object).path().equals(this.path) // TODO: path equality
+                && ((B_O_P_PA_S_SE_SL_Traverser) object).path().equals(this.path)
                 && ((B_O_P_PA_S_SE_SL_Traverser) object).get().equals(this.t)
                 && ((B_O_P_PA_S_SE_SL_Traverser) object).getStepId().equals(this.getStepId())
                 && ((B_O_P_PA_S_SE_SL_Traverser) object).loops() == this.loops()
                 && (null == this.sack);
     }
 
+    //////////////////////
+
+    private static PersistentPath.LabelIndex getLabelIndex(final TraversalSideEffects sideEffects) {
+        return sideEffects instanceof DefaultTraversalSideEffects ?
+                ((DefaultTraversalSideEffects) sideEffects).getLabelIndex() :
+                new PersistentPath.LabelIndex();
+    }
+
 }
@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.process.util;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -125,6 +126,32 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         }
     }
 
+    @Override
+    public boolean nextBatch(final TraverserBatch<E> batch) {
+        if (null != this.nextEnd) {
+            try {
+                batch.add((Traverser.Admin<E>) this.prepareTraversalForNextStep(this.nextEnd));
+                return true;
+            } finally {
+                this.nextEnd = null;
+            }
+        } else {
+            final int from = batch.size();
+            while (this.processNextBatch(batch)) {
+                int to = from;
+                for (int i = from; i < batch.size(); i++) {
+                    final Traverser.Admin<E> traverser = batch.get(i);
+                    if (0 != traverser.bulk())
+                        batch.set(to++, (Traverser.Admin<E>) this.prepareTraversalForNextStep(traverser));
+                }
+                batch.truncate(to);
+                if (to > from)
+                    return true;
+            }
+            return false;
+        }
+    }
+
     @Override
     public <A, B> Traversal<A, B> getTraversal() {
         return this.traversal;
@@ -137,6 +164,43 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Append the next traversers of the step to the batch. Unless the step is exhausted, at least one traverser must
+     * be appended. The traversers are appended as they are returned by {@link #processNextStart()} (i.e. traversers
+     * with a zero bulk are allowed as they are removed by the caller).
+     * <p/>
+     * The provided default appends the single traverser of {@link #processNextStart()} and thus, a step that does not
+     * override this method processes its traversers one at a time (e.g. so that its side-effects are observed in order).
+     *
+     * @return whether any traverser was appended (if not, the step is exhausted)
+     */
+    protected boolean processNextBatch(final TraverserBatch<E> batch) {
+        return this.processNextStartInto(batch);
+    }
+
+    /**
+     * Determine whether the step's override of {@link #processNextBatch} may process a whole batch at once. A step
+     * that accesses the path of its traversers (e.g. a select() and its by()-functions) must process them one at a
+     * time as the traversers of a batch may share a single sparse path which only holds the labels of the most
+     * recent traverser. The path access that the map steps report by default is not considered an access
+     * (see {@link TraversalHelper#getDeclaredRequirements}).
+     */
+    protected boolean processesBatches() {
+        return !TraversalHelper.getDeclaredRequirements(this).contains(TraverserRequirement.PATH_ACCESS);
+    }
+
+    /**
+     * Append the traverser of {@link #processNextStart()} to the batch.
+     */
+    protected final boolean processNextStartInto(final TraverserBatch<E> batch) {
+        try {
+            batch.add((Traverser.Admin<E>) this.processNextStart());
+            return true;
+        } catch (final NoSuchElementException e) {
+            return false;
+        }
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this);
     }
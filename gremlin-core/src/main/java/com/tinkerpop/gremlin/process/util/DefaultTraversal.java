@@ -47,18 +47,77 @@ public class DefaultTraversal<S, E> implements Traversal<S, E>, Traversal.Admin<
             throw Traversal.Exceptions.traversalIsLocked();
 
         TraversalHelper.reIdSteps(this.stepPosition, this);
-        this.strategies.applyStrategies(this, engine);
-        for (final Step<?, ?> step : this.getSteps()) {
-            if (step instanceof TraversalHolder) {
-                ((TraversalHolder) step).setStrategies(this.strategies); // TODO: should we clone?
-                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getGlobalTraversals()) {
-                    nested.asAdmin().applyStrategies(engine);
+        final Optional<TraversalPlanCache> planCache = this.strategies.getPlanCache();
+        final Optional<Object> shape = planCache.isPresent() ? planCache.get().getShape(this, engine) : Optional.empty();
+        final Optional<Traversal.Admin<?, ?>> plan = shape.isPresent() ? planCache.get().getPlan(shape.get()) : Optional.empty();
+        if (plan.isPresent()) {
+            this.instantiatePlan((DefaultTraversal<?, ?>) plan.get());
+            planCache.get().bindPlan(shape.get(), this);
+        } else {
+            this.strategies.applyStrategies(this, engine);
+            for (final Step<?, ?> step : this.getSteps()) {
+                if (step instanceof TraversalHolder) {
+                    ((TraversalHolder) step).setStrategies(this.strategies); // TODO: should we clone?
+                    for (final Traversal<?, ?> nested : ((TraversalHolder) step).getGlobalTraversals()) {
+                        nested.asAdmin().applyStrategies(engine);
+                    }
                 }
             }
         }
         this.traversalEngine = Optional.of(engine);
         this.locked = true;
         this.finalEndStep = this.getEndStep();
+        if (shape.isPresent() && !plan.isPresent())
+            planCache.get().putPlan(shape.get(), this, this.compilePlan());
+    }
+
+    private DefaultTraversal<S, E> compilePlan() {
+        try {
+            final DefaultTraversal<S, E> plan = this.clone();
+            DefaultTraversal.replaceSideEffects(plan, this.sideEffects, plan.sideEffects);
+            return plan;
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private void instantiatePlan(final DefaultTraversal<?, ?> plan) {
+        try {
+            this.steps.clear();
+            // the nested traversals of the plan merge their side-effects into the plan when they are cloned
+            synchronized (plan) {
+                for (final Step<?, ?> step : plan.steps) {
+                    final Step<?, ?> clonedStep = step.clone();
+                    clonedStep.setTraversal(this);
+                    final Step previousStep = this.steps.isEmpty() ? EmptyStep.instance() : this.steps.get(this.steps.size() - 1);
+                    clonedStep.setPreviousStep(previousStep);
+                    previousStep.setNextStep(clonedStep);
+                    this.steps.add(clonedStep);
+                }
+                this.sideEffects = plan.sideEffects.clone();
+            }
+            DefaultTraversal.replaceSideEffects(this, plan.sideEffects, this.sideEffects);
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    // the nested traversals that share the side-effects of their root traversal are cloned with the side-effects of the source root
+    private static void replaceSideEffects(final Traversal.Admin<?, ?> traversal, final TraversalSideEffects oldSideEffects, final TraversalSideEffects newSideEffects) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof TraversalHolder) {
+                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getGlobalTraversals()) {
+                    if (nested.asAdmin().getSideEffects() == oldSideEffects)
+                        nested.asAdmin().setSideEffects(newSideEffects);
+                    DefaultTraversal.replaceSideEffects(nested.asAdmin(), oldSideEffects, newSideEffects);
+                }
+                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getLocalTraversals()) {
+                    if (nested.asAdmin().getSideEffects() == oldSideEffects)
+                        nested.asAdmin().setSideEffects(newSideEffects);
+                    DefaultTraversal.replaceSideEffects(nested.asAdmin(), oldSideEffects, newSideEffects);
+                }
+            }
+        }
     }
 
     @Override
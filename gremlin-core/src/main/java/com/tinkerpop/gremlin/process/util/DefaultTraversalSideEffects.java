@@ -22,6 +22,8 @@ public class DefaultTraversalSideEffects implements TraversalSideEffects {
     protected Map<String, Supplier> supplierMap = new HashMap<>();
     protected Optional<UnaryOperator> sackSplitOperator = Optional.empty();
     protected Optional<Supplier> sackInitialValue = Optional.empty();
+    // the labels of the paths of the traversal are interned once for the traversal (and its clones)
+    protected PersistentPath.LabelIndex labelIndex = new PersistentPath.LabelIndex();
 
     public DefaultTraversalSideEffects() {
 
@@ -51,6 +53,10 @@ public class DefaultTraversalSideEffects implements TraversalSideEffects {
             this.supplierMap.put(key, supplier);
     }
 
+    public PersistentPath.LabelIndex getLabelIndex() {
+        return this.labelIndex;
+    }
+
     @Override
     public <S> void setSack(final Supplier<S> initialValue, final Optional<UnaryOperator<S>> splitOperator) {
         this.sackInitialValue = Optional.ofNullable(initialValue);
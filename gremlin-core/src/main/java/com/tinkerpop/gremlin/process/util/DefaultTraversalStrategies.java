@@ -21,6 +21,7 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
 
     protected List<TraversalStrategy> traversalStrategies = new ArrayList<>();
     protected TraverserGeneratorFactory traverserGeneratorFactory = DefaultTraverserGeneratorFactory.instance();
+    protected Optional<TraversalPlanCache> planCache = Optional.empty();
 
     @Override
     public TraversalStrategies addStrategies(final TraversalStrategy... strategies) {
@@ -31,7 +32,10 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
                 added = true;
             }
         }
-        if (added) TraversalStrategies.sortStrategies(this.traversalStrategies);
+        if (added) {
+            TraversalStrategies.sortStrategies(this.traversalStrategies);
+            this.planCache.ifPresent(TraversalPlanCache::clear);
+        }
         return this;
     }
 
@@ -46,7 +50,10 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
                 removed = true;
             }
         }
-        if (removed) TraversalStrategies.sortStrategies(this.traversalStrategies);
+        if (removed) {
+            TraversalStrategies.sortStrategies(this.traversalStrategies);
+            this.planCache.ifPresent(TraversalPlanCache::clear);
+        }
         return this;
     }
 
@@ -70,11 +77,22 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
         this.traverserGeneratorFactory = traverserGeneratorFactory;
     }
 
+    @Override
+    public void setPlanCache(final TraversalPlanCache planCache) {
+        this.planCache = Optional.ofNullable(planCache);
+    }
+
+    @Override
+    public Optional<TraversalPlanCache> getPlanCache() {
+        return this.planCache;
+    }
+
     @Override
     public DefaultTraversalStrategies clone() throws CloneNotSupportedException {
         final DefaultTraversalStrategies clone = (DefaultTraversalStrategies) super.clone();
         clone.traversalStrategies = new ArrayList<>();
         clone.traversalStrategies.addAll(this.traversalStrategies);
+        clone.planCache = Optional.empty();
         // TraversalStrategies.sortStrategies(clone.traversalStrategies);
         return clone;
     }
@@ -10,6 +10,7 @@ import com.tinkerpop.gremlin.process.traverser.util.DefaultTraverserGeneratorFac
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -56,6 +57,16 @@ public final class EmptyTraversalStrategies implements TraversalStrategies {
 
     }
 
+    @Override
+    public void setPlanCache(final TraversalPlanCache planCache) {
+
+    }
+
+    @Override
+    public Optional<TraversalPlanCache> getPlanCache() {
+        return Optional.empty();
+    }
+
     public static EmptyTraversalStrategies instance() {
         return INSTANCE;
     }
@@ -13,6 +13,9 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
     private final TraverserSet<E> traverserSet = new TraverserSet<>();
     private final MultiIterator<Traverser.Admin<E>> traverserIterators = new MultiIterator<>();
     private final Step<?, E> hostStep;
+    // the traversers that were pulled as a batch by pollBatched() and are yet to be returned
+    private TraverserBatch<E> batch = null;
+    private int batchPosition = 0;
 
     public ExpandableStepIterator(final Step<?, E> hostStep) {
         this.hostStep = hostStep;
@@ -20,13 +23,16 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
 
     @Override
     public boolean hasNext() {
-        return !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext() || this.traverserIterators.hasNext();
+        return this.batchPosition < this.batchSize() || !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext() || this.traverserIterators.hasNext();
     }
 
     @Override
     public Traverser.Admin<E> next() {
-        if (!this.traverserSet.isEmpty())
-            return this.traverserSet.remove();
+        if (this.batchPosition < this.batchSize())
+            return this.batch.get(this.batchPosition++);
+        final Traverser.Admin<E> traverser = this.traverserSet.poll();
+        if (null != traverser)
+            return traverser;
         if (this.traverserIterators.hasNext())
             return this.traverserIterators.next();
         /////////////
@@ -36,6 +42,45 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
         return this.traverserSet.remove();
     }
 
+    /**
+     * Append the next traversers to the batch in the same order as {@link #next()} would return them.
+     *
+     * @param batch the non-full batch to append the traversers to
+     * @return whether any traverser was appended (if not, there are no more traversers)
+     */
+    public boolean nextBatch(final TraverserBatch<E> batch) {
+        final int from = batch.size();
+        while (this.batchPosition < this.batchSize() && !batch.isFull()) {
+            batch.add(this.batch.get(this.batchPosition++));
+        }
+        this.drainTraverserSet(batch);
+        while (this.traverserIterators.hasNext() && !batch.isFull()) {
+            batch.add(this.traverserIterators.next());
+        }
+        if (batch.size() == from) {
+            this.hostStep.getPreviousStep().nextBatch((TraverserBatch) batch);
+            this.drainTraverserSet(batch);
+        }
+        return batch.size() > from;
+    }
+
+    /**
+     * Get the next traverser (or null if there are no more traversers) where the traversers of the previous step are
+     * pulled a batch at a time.
+     */
+    public Traverser.Admin<E> pollBatched() {
+        if (this.batchPosition == this.batchSize()) {
+            if (null == this.batch)
+                this.batch = new TraverserBatch<>();
+            else
+                this.batch.clear();
+            this.batchPosition = 0;
+            if (!this.nextBatch(this.batch))
+                return null;
+        }
+        return this.batch.get(this.batchPosition++);
+    }
+
     public void add(final Iterator<Traverser.Admin<E>> iterator) {
         this.traverserIterators.addIterator(iterator);
     }
@@ -52,5 +97,18 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
     public void clear() {
         this.traverserIterators.clear();
         this.traverserSet.clear();
+        if (null != this.batch)
+            this.batch.clear();
+        this.batchPosition = 0;
+    }
+
+    private int batchSize() {
+        return null == this.batch ? 0 : this.batch.size();
+    }
+
+    private void drainTraverserSet(final TraverserBatch<E> batch) {
+        while (!this.traverserSet.isEmpty() && !batch.isFull()) {
+            batch.add(this.traverserSet.remove());
+        }
     }
 }
@@ -69,6 +69,22 @@ public class MutablePath implements Path, Serializable {
         this.labels.get(this.labels.size() - 1).add(label);
     }
 
+    @Override
+    public void retract(final Set<String> labels) {
+        final List<Object> objects = new ArrayList<>();
+        final List<Set<String>> objectLabels = new ArrayList<>();
+        for (int i = 0; i < this.objects.size(); i++) {
+            final Set<String> retainedLabels = new HashSet<>(this.labels.get(i));
+            retainedLabels.retainAll(labels);
+            if (!retainedLabels.isEmpty() || i == this.objects.size() - 1) {
+                objects.add(this.objects.get(i));
+                objectLabels.add(retainedLabels);
+            }
+        }
+        this.objects = objects;
+        this.labels = objectLabels;
+    }
+
     @Override
     public List<Object> objects() {
         return Collections.unmodifiableList(this.objects);
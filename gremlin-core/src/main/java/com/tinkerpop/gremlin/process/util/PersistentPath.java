@@ -0,0 +1,332 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Path;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link PersistentPath} is a path whose steps are a parent-pointer list of immutable nodes. A cloned path shares
+ * all the nodes of the path it was cloned from and thus, cloning and extending a path are constant time operations.
+ * The labels of a step are interned by a {@link LabelIndex} that is shared by all the paths of a traversal and are
+ * stored as a bitmap. Each node also holds the union of the label bitmaps of the path up to it so that
+ * {@link #hasLabel(String)} is a constant time operation. As the nodes are shared, {@link #addLabel(String)} replaces
+ * the head node of the path with a relabeled copy. Once a path has been retracted (see {@link #retract(Set)}), an
+ * unlabeled head is replaced (rather than preceded) by the next object that the path is extended with.
+ *
+ * @author agent (agent@local)
+ */
+public final class PersistentPath implements Path, Serializable {
+
+    private final LabelIndex labelIndex;
+    private Node head;
+    private boolean retracted = false;
+
+    private PersistentPath(final LabelIndex labelIndex, final Node head) {
+        this.labelIndex = labelIndex;
+        this.head = head;
+    }
+
+    public static PersistentPath make() {
+        return new PersistentPath(new LabelIndex(), null);
+    }
+
+    /**
+     * Make an empty path whose labels are interned by the provided label index (e.g. the label index of the traversal).
+     */
+    public static PersistentPath make(final LabelIndex labelIndex) {
+        return new PersistentPath(labelIndex, null);
+    }
+
+    @Override
+    public PersistentPath clone() {
+        final PersistentPath clone = new PersistentPath(this.labelIndex, this.head);
+        clone.retracted = this.retracted;
+        return clone;
+    }
+
+    @Override
+    public int size() {
+        return null == this.head ? 0 : this.head.size;
+    }
+
+    @Override
+    public Path extend(final Object object, final String... labels) {
+        long bits = 0l;
+        Set<String> overflow = null;
+        for (final String label : labels) {
+            final int index = this.labelIndex.intern(label);
+            if (index < LabelIndex.MAX_BITMAP_SIZE)
+                bits = bits | (1l << index);
+            else {
+                if (null == overflow)
+                    overflow = new HashSet<>();
+                overflow.add(label);
+            }
+        }
+        // a retracted path only retains the labeled objects (and its head)
+        if (this.retracted && null != this.head && 0l == this.head.bits && null == this.head.overflow)
+            this.head = this.head.previous;
+        this.head = new Node(this.head, object, bits, overflow);
+        return this;
+    }
+
+    @Override
+    public <A> A get(final int index) {
+        if (index < 0 || index >= this.size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+        Node node = this.head;
+        while (node.size - 1 != index) {
+            node = node.previous;
+        }
+        return (A) node.object;
+    }
+
+    @Override
+    public <A> A get(final String label) throws IllegalArgumentException {
+        final int index = this.labelIndex.indexOf(label);
+        if (index < 0)
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        final long bit = index < LabelIndex.MAX_BITMAP_SIZE ? 1l << index : 0l;
+        final List<Object> objects = new ArrayList<>();
+        // the path bitmaps of the previous nodes do not have the label once the first labeled node has been passed
+        for (Node node = this.head; null != node && (0l == bit || 0l != (node.pathBits & bit)); node = node.previous) {
+            if (0l == bit ? node.hasOverflowLabel(label) : 0l != (node.bits & bit))
+                objects.add(node.object);
+        }
+        if (objects.isEmpty())
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        if (objects.size() == 1)
+            return (A) objects.get(0);
+        Collections.reverse(objects);
+        return (A) objects;
+    }
+
+    @Override
+    public boolean hasLabel(final String label) {
+        if (null == this.head)
+            return false;
+        final int index = this.labelIndex.indexOf(label);
+        if (index < 0)
+            return false;
+        if (index < LabelIndex.MAX_BITMAP_SIZE)
+            return 0l != (this.head.pathBits & (1l << index));
+        for (Node node = this.head; null != node; node = node.previous) {
+            if (node.hasOverflowLabel(label))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void addLabel(final String label) {
+        if (null == this.head)
+            throw new IllegalStateException("An empty path can not have labels added to it");
+        final int index = this.labelIndex.intern(label);
+        if (index < LabelIndex.MAX_BITMAP_SIZE)
+            this.head = new Node(this.head.previous, this.head.object, this.head.bits | (1l << index), this.head.overflow);
+        else {
+            final Set<String> overflow = null == this.head.overflow ? new HashSet<>() : new HashSet<>(this.head.overflow);
+            overflow.add(label);
+            this.head = new Node(this.head.previous, this.head.object, this.head.bits, overflow);
+        }
+    }
+
+    @Override
+    public void retract(final Set<String> labels) {
+        this.retracted = true;
+        if (null == this.head)
+            return;
+        long mask = 0l;
+        for (final String label : labels) {
+            final int index = this.labelIndex.indexOf(label);
+            if (index >= 0 && index < LabelIndex.MAX_BITMAP_SIZE)
+                mask = mask | (1l << index);
+        }
+        final List<Node> retainedNodes = new ArrayList<>();
+        for (Node node = this.head; null != node; node = node.previous) {
+            if (node == this.head || 0l != (node.bits & mask) || node.hasOverflowLabel(labels))
+                retainedNodes.add(node);
+        }
+        Node head = null;
+        for (int i = retainedNodes.size() - 1; i >= 0; i--) {
+            final Node node = retainedNodes.get(i);
+            Set<String> overflow = null;
+            if (null != node.overflow) {
+                overflow = new HashSet<>(node.overflow);
+                overflow.retainAll(labels);
+                if (overflow.isEmpty())
+                    overflow = null;
+            }
+            head = new Node(head, node.object, node.bits & mask, overflow);
+        }
+        this.head = head;
+    }
+
+    @Override
+    public List<Object> objects() {
+        final Object[] objects = new Object[this.size()];
+        for (Node node = this.head; null != node; node = node.previous) {
+            objects[node.size - 1] = node.object;
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        final Set<String>[] labels = new Set[this.size()];
+        for (Node node = this.head; null != node; node = node.previous) {
+            labels[node.size - 1] = node.labels(this.labelIndex);
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    public LabelIndex getLabelIndex() {
+        return this.labelIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return null == this.head ? 0 : this.head.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (!(object instanceof PersistentPath))
+            return false;
+        final PersistentPath other = (PersistentPath) object;
+        if (this.size() != other.size())
+            return false;
+        // the paths are equal once they share a node
+        Node a = this.head;
+        Node b = other.head;
+        while (a != b) {
+            if (!Objects.equals(a.object, b.object))
+                return false;
+            if (this.labelIndex == other.labelIndex) {
+                if (a.bits != b.bits || !(null == a.overflow ? null == b.overflow : a.overflow.equals(b.overflow)))
+                    return false;
+            } else if (!a.labels(this.labelIndex).equals(b.labels(other.labelIndex)))
+                return false;
+            a = a.previous;
+            b = b.previous;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return this.objects().toString();
+    }
+
+    private static final class Node implements Serializable {
+
+        private final Node previous;
+        private final Object object;
+        private final long bits;
+        private final long pathBits;
+        private final Set<String> overflow;
+        private final int size;
+        private int hashCode = 0;
+
+        private Node(final Node previous, final Object object, final long bits, final Set<String> overflow) {
+            this.previous = previous;
+            this.object = object;
+            this.bits = bits;
+            this.pathBits = null == previous ? bits : previous.pathBits | bits;
+            this.overflow = overflow;
+            this.size = null == previous ? 1 : previous.size + 1;
+        }
+
+        private boolean hasOverflowLabel(final String label) {
+            return null != this.overflow && this.overflow.contains(label);
+        }
+
+        private boolean hasOverflowLabel(final Set<String> labels) {
+            return null != this.overflow && !Collections.disjoint(this.overflow, labels);
+        }
+
+        // the labels are a fresh mutable set as they may be copied by reference into a mutable path (e.g. DetachedPath)
+        private Set<String> labels(final LabelIndex labelIndex) {
+            final Set<String> labels = new HashSet<>();
+            long bits = this.bits;
+            while (0l != bits) {
+                final int index = Long.numberOfTrailingZeros(bits);
+                labels.add(labelIndex.labelOf(index));
+                bits = bits & (bits - 1);
+            }
+            if (null != this.overflow)
+                labels.addAll(this.overflow);
+            return labels;
+        }
+
+        @Override
+        public int hashCode() {
+            // the hash code of the path is computed lazily (as the objects of the path may be expensive to hash) and
+            // iteratively from the last node with a hash code (as a recursion over a long path may overflow the stack)
+            if (0 == this.hashCode) {
+                final List<Node> nodes = new ArrayList<>();
+                Node node = this;
+                while (null != node && 0 == node.hashCode) {
+                    nodes.add(node);
+                    node = node.previous;
+                }
+                int hashCode = null == node ? 0 : node.hashCode;
+                for (int i = nodes.size() - 1; i >= 0; i--) {
+                    hashCode = hashCode * 31 + Objects.hashCode(nodes.get(i).object);
+                    nodes.get(i).hashCode = hashCode;
+                }
+            }
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * A {@link LabelIndex} interns the labels of the paths of a traversal. The first 64 labels are stored by the paths
+     * as a bitmap and any further labels are stored as a set.
+     */
+    public static final class LabelIndex implements Serializable {
+
+        public static final int MAX_BITMAP_SIZE = 64;
+
+        private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+        private volatile String[] labels = new String[0];
+
+        public int indexOf(final String label) {
+            final Integer index = this.indices.get(label);
+            return null == index ? -1 : index;
+        }
+
+        public String labelOf(final int index) {
+            return this.labels[index];
+        }
+
+        public int intern(final String label) {
+            final Integer index = this.indices.get(label);
+            return null == index ? this.add(label) : index;
+        }
+
+        private synchronized int add(final String label) {
+            final Integer index = this.indices.get(label);
+            if (null != index)
+                return index;
+            final String[] labels = Arrays.copyOf(this.labels, this.labels.length + 1);
+            labels[this.labels.length] = label;
+            this.labels = labels;
+            this.indices.put(label, this.labels.length - 1);
+            return this.labels.length - 1;
+        }
+
+        public int size() {
+            return this.labels.length;
+        }
+    }
+}
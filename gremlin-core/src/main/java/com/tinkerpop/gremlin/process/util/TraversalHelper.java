@@ -4,10 +4,12 @@ import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.marker.Reversible;
 import com.tinkerpop.gremlin.process.graph.marker.TraversalHolder;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
 import com.tinkerpop.gremlin.process.traverser.TraverserRequirement;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -243,6 +245,43 @@ public class TraversalHelper {
         return requirements;
     }
 
+    /**
+     * Get the requirements that the step declares. A subclass of {@link MapStep} that does not override
+     * {@link MapStep#getRequirements} reports {@link TraverserRequirement#PATH_ACCESS} regardless of whether its function
+     * accesses the path (so that its traversers are generated with a path). As this is not a declared requirement,
+     * it is not returned (e.g. so that strategies do not treat every values() as a path access). The path access of a
+     * {@link MapStep} itself is returned as its (lambda) function may access the path (e.g. map{it.path("a")}).
+     */
+    public static Set<TraverserRequirement> getDeclaredRequirements(final Step<?, ?> step) {
+        final Set<TraverserRequirement> requirements = step.getRequirements();
+        if (step instanceof MapStep && !MapStep.class.equals(step.getClass()) && requirements.contains(TraverserRequirement.PATH_ACCESS)) {
+            try {
+                if (MapStep.class.equals(step.getClass().getMethod("getRequirements").getDeclaringClass())) {
+                    final Set<TraverserRequirement> declaredRequirements = new HashSet<>(requirements);
+                    declaredRequirements.remove(TraverserRequirement.PATH_ACCESS);
+                    return declaredRequirements;
+                }
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return requirements;
+    }
+
+    /**
+     * Get the requirements that the steps of the traversal declare (see {@link #getDeclaredRequirements(Step)}).
+     */
+    public static Set<TraverserRequirement> getDeclaredRequirements(final Traversal.Admin<?, ?> traversal) {
+        final Set<TraverserRequirement> requirements = traversal.getSteps().stream()
+                .flatMap(step -> TraversalHelper.getDeclaredRequirements((Step<?, ?>) step).stream())
+                .collect(Collectors.toSet());
+        if (traversal.getSideEffects().keys().size() > 0)
+            requirements.add(TraverserRequirement.SIDE_EFFECTS);
+        if (traversal.getSideEffects().getSackInitialValue().isPresent())
+            requirements.add(TraverserRequirement.SACK);
+        return requirements;
+    }
+
     public static void reIdSteps(final StepPosition stepPosition, final Traversal.Admin<?, ?> traversal) {
         stepPosition.x = 0;
         stepPosition.y = -1;
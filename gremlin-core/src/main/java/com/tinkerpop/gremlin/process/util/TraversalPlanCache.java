@@ -0,0 +1,387 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.marker.ComparatorHolder;
+import com.tinkerpop.gremlin.process.graph.marker.FunctionHolder;
+import com.tinkerpop.gremlin.process.graph.marker.HasContainerBinding;
+import com.tinkerpop.gremlin.process.graph.marker.HasContainerHolder;
+import com.tinkerpop.gremlin.process.graph.marker.TraversalHolder;
+import com.tinkerpop.gremlin.process.graph.step.branch.BranchStep;
+import com.tinkerpop.gremlin.process.graph.step.branch.ChooseStep;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FoldStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.InjectStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.SackObjectStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.SideEffectStep;
+import com.tinkerpop.gremlin.process.graph.step.util.FusedStep;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.structure.Graph;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link TraversalPlanCache} holds the strategized (i.e. compiled) plans of traversals keyed by their shape.
+ * When the {@link com.tinkerpop.gremlin.process.TraversalStrategies} of a traversal have a plan cache, a traversal
+ * whose shape was already compiled is instantiated by cloning the steps of the cached plan instead of re-applying the
+ * strategies (see {@link DefaultTraversal#applyStrategies}). The cache holds at most a maximum number of plans and
+ * evicts the least recently used plan when full.
+ * <p/>
+ * The shape of a traversal is the graph that it emanates from (which is weakly referenced), the engine that it is
+ * compiled for, and the class, label, description (i.e. {@link Object#toString()}), and by()-modulators (i.e. the
+ * functions and comparators) of each of its steps and nested traversals. The ids of the start step and the values of
+ * the has containers are not part of the shape. They are bound to the instantiated plan and thus, the strategies must
+ * not compile a plan that depends on them. The cached plans do not hold the graph and the bindings that they were
+ * compiled from. Only traversals that start with a {@link GraphStep}, that have no side-effects or sack prior to
+ * compilation, and whose steps describe all their arguments (i.e. do not hold lambdas) are cached.
+ *
+ * @author agent (agent@local)
+ */
+public final class TraversalPlanCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    // the steps that are described by their class alone and yet hold a lambda (as do their anonymous subclasses)
+    private static final Set<Class> LAMBDA_STEPS = new HashSet<>(Arrays.asList(
+            MapStep.class, FlatMapStep.class, FilterStep.class, SideEffectStep.class,
+            BranchStep.class, ChooseStep.class, FoldStep.class, SackObjectStep.class, InjectStep.class));
+    private static final String LAMBDA = "$$Lambda$";
+    private static final String BOUND = "?";
+
+    private final int maxSize;
+    private final Map<Shape, Plan> plans;
+    private final AtomicLong hits = new AtomicLong(0l);
+    private final AtomicLong misses = new AtomicLong(0l);
+    private final AtomicLong evictions = new AtomicLong(0l);
+
+    public TraversalPlanCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public TraversalPlanCache(final int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("The maximum size of a plan cache must be greater than zero: " + maxSize);
+        this.maxSize = maxSize;
+        this.plans = new LinkedHashMap<Shape, Plan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Shape, Plan> eldest) {
+                if (this.size() > TraversalPlanCache.this.maxSize) {
+                    TraversalPlanCache.this.evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the shape of the uncompiled traversal (if the traversal can be cached).
+     *
+     * @param traversal the traversal prior to the application of its strategies
+     * @param engine    the engine that the traversal is compiled for
+     * @return the key of the plan of the traversal in the cache (along with the bindings of the traversal)
+     */
+    public Optional<Object> getShape(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (!GraphStep.class.equals(traversal.getStartStep().getClass()) ||
+                !traversal.getSideEffects().keys().isEmpty() ||
+                traversal.getSideEffects().getSackInitialValue().isPresent())
+            return Optional.empty();
+        final StringBuilder description = new StringBuilder();
+        final List<HasContainer> bindings = new ArrayList<>();
+        if (!TraversalPlanCache.describe(traversal, description, bindings))
+            return Optional.empty();
+        final GraphStep<?> graphStep = (GraphStep<?>) traversal.getStartStep();
+        return Optional.of(new Shape(graphStep.getGraph(Graph.class), engine, description.toString(), graphStep.getIds(), bindings));
+    }
+
+    /**
+     * Get the compiled plan of the shape (if it has been cached). The plan must not be mutated and once its steps
+     * are cloned into the traversal of the shape, the traversal must be bound to the shape (see {@link #bindPlan}).
+     */
+    public Optional<Traversal.Admin<?, ?>> getPlan(final Object shape) {
+        final Plan plan;
+        synchronized (this.plans) {
+            plan = this.plans.get(shape);
+        }
+        (null == plan ? this.misses : this.hits).incrementAndGet();
+        ((Shape) shape).slots = null == plan ? null : plan.slots;
+        return null == plan ? Optional.empty() : Optional.of(plan.traversal);
+    }
+
+    /**
+     * Bind the traversal that was instantiated from the plan of the shape to the graph, the start ids, and the
+     * has container values of the traversal that the shape was taken from.
+     */
+    public void bindPlan(final Object shape, final Traversal.Admin<?, ?> traversal) {
+        ((Shape) shape).bind(traversal);
+    }
+
+    /**
+     * Cache the plan of the shape. The plan is not cached if its bindings can not be located in the compiled traversal.
+     *
+     * @param shape     the shape of the traversal prior to the application of its strategies
+     * @param traversal the compiled traversal
+     * @param plan      a clone of the compiled traversal
+     */
+    public void putPlan(final Object shape, final Traversal.Admin<?, ?> traversal, final Traversal.Admin<?, ?> plan) {
+        final Shape bound = (Shape) shape;
+        // the start step must iterate its graph and ids so that they can be rebound
+        if (!(plan.getStartStep() instanceof GraphStep) ||
+                (((GraphStep<?>) plan.getStartStep()).getIteratorSupplier().isPresent() && !bound.engine.equals(TraversalEngine.COMPUTER)))
+            return;
+        final Map<HasContainer, Integer> ordinals = new IdentityHashMap<>();
+        for (int i = 0; i < bound.bindings.size(); i++) {
+            ordinals.put(bound.bindings.get(i), i);
+        }
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        TraversalPlanCache.collectHasContainers(traversal, hasContainers);
+        final int[] slots = new int[hasContainers.size()];
+        final Set<Integer> located = new HashSet<>();
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = ordinals.getOrDefault(hasContainers.get(i), -1);
+            if (-1 != slots[i])
+                located.add(slots[i]);
+        }
+        if (located.size() != ordinals.size())
+            return;
+        ((GraphStep<?>) plan.getStartStep()).setGraph(null);
+        ((GraphStep<?>) plan.getStartStep()).setIds();
+        synchronized (this.plans) {
+            this.plans.keySet().removeIf(key -> null == key.graph.get());
+            this.plans.put(bound.unbind(), new Plan(plan, slots));
+        }
+    }
+
+    public void clear() {
+        synchronized (this.plans) {
+            this.plans.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.plans) {
+            return this.plans.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "traversalplancache[size:" + this.size() + ",hits:" + this.getHits() + ",misses:" + this.getMisses() + ",evictions:" + this.getEvictions() + "]";
+    }
+
+    private static boolean describe(final Traversal.Admin<?, ?> traversal, final StringBuilder description, final List<HasContainer> bindings) {
+        description.append("[");
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (TraversalPlanCache.isLambdaStep(step))
+                return false;
+            description.append(step.getClass().getName()).append(":");
+            if (step instanceof GraphStep)
+                description.append(((GraphStep<?>) step).getReturnClass().getName());
+            else if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    if (!TraversalPlanCache.describe(step, hasContainer.predicate, description))
+                        return false;
+                    description.append("(").append(hasContainer.key).append(",").append(null == hasContainer.value ? null : BOUND).append(")");
+                    bindings.add(hasContainer);
+                }
+            } else {
+                final String string = step.toString();
+                if (string.contains(LAMBDA))
+                    return false;
+                description.append(string);
+            }
+            if (step instanceof FunctionHolder) {
+                for (final Function<?, ?> function : ((FunctionHolder<?, ?>) step).getFunctions()) {
+                    if (!TraversalPlanCache.describe(step, function, description.append("|")))
+                        return false;
+                }
+            }
+            if (step instanceof ComparatorHolder) {
+                for (final Object comparator : ((ComparatorHolder<?>) step).getComparators()) {
+                    if (!TraversalPlanCache.describe(step, comparator, description.append("|")))
+                        return false;
+                }
+            }
+            step.getLabel().ifPresent(label -> description.append("@").append(label));
+            if (step instanceof TraversalHolder) {
+                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getGlobalTraversals()) {
+                    if (!TraversalPlanCache.describe(nested.asAdmin(), description, bindings))
+                        return false;
+                }
+                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getLocalTraversals()) {
+                    if (!TraversalPlanCache.describe(nested.asAdmin(), description, bindings))
+                        return false;
+                }
+            }
+            description.append(",");
+        }
+        description.append("]");
+        return true;
+    }
+
+    // only the functions, comparators, and predicates that are fully described by their class and description are part of a shape
+    private static boolean describe(final Step<?, ?> step, final Object function, final StringBuilder description) {
+        if (null == function || Function.identity() == function) {
+            description.append(function);
+            return true;
+        }
+        // the default function of a step is a lambda of the class of the step (e.g. the identity of an unmodulated groupCount())
+        for (Class stepClass = step.getClass(); null != stepClass; stepClass = stepClass.getSuperclass()) {
+            if (function.getClass().getName().startsWith(stepClass.getName() + LAMBDA)) {
+                description.append(function.getClass().getName());
+                return true;
+            }
+        }
+        if (!(function instanceof Enum || function instanceof ElementValueFunction ||
+                function instanceof ElementValueComparator || function instanceof ElementFunctionComparator))
+            return false;
+        final String string = function.toString();
+        if (string.contains(LAMBDA))
+            return false;
+        description.append(function.getClass().getName()).append(":").append(string);
+        return true;
+    }
+
+    private static boolean isLambdaStep(final Step<?, ?> step) {
+        if (LAMBDA_STEPS.contains(step.getClass()))
+            return true;
+        if (step.getClass().isAnonymousClass() || step.getClass().isLocalClass() || step.getClass().isSynthetic()) {
+            for (final Class lambdaStep : LAMBDA_STEPS) {
+                if (lambdaStep.isAssignableFrom(step.getClass()))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    // the has containers of the compiled steps in the order that they are bound to the bindings of a shape
+    private static void collectHasContainers(final Traversal.Admin<?, ?> traversal, final List<HasContainer> hasContainers) {
+        TraversalPlanCache.collectHasContainers(traversal.getSteps(), hasContainers);
+    }
+
+    private static void collectHasContainers(final List<? extends Step> steps, final List<HasContainer> hasContainers) {
+        for (final Step<?, ?> step : steps) {
+            if (step instanceof HasContainerHolder)
+                hasContainers.addAll(((HasContainerHolder) step).getHasContainers());
+            if (step instanceof HasContainerBinding)
+                hasContainers.addAll(((HasContainerBinding) step).getBoundHasContainers());
+            if (step instanceof FusedStep)
+                TraversalPlanCache.collectHasContainers(((FusedStep<?, ?>) step).getFusedSteps(), hasContainers);
+            if (step instanceof TraversalHolder) {
+                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getGlobalTraversals()) {
+                    TraversalPlanCache.collectHasContainers(nested.asAdmin(), hasContainers);
+                }
+                for (final Traversal<?, ?> nested : ((TraversalHolder) step).getLocalTraversals()) {
+                    TraversalPlanCache.collectHasContainers(nested.asAdmin(), hasContainers);
+                }
+            }
+        }
+    }
+
+    private static final class Plan {
+
+        private final Traversal.Admin<?, ?> traversal;
+        // the binding of each has container of the plan (or -1 if the has container is not bound)
+        private final int[] slots;
+
+        private Plan(final Traversal.Admin<?, ?> traversal, final int[] slots) {
+            this.traversal = traversal;
+            this.slots = slots;
+        }
+    }
+
+    private static final class Shape {
+
+        private final WeakReference<Graph> graph;
+        private final TraversalEngine engine;
+        private final String description;
+        private final int hashCode;
+        // the graph, start ids, and has containers of the traversal that the shape was taken from (these are not held by a cached shape)
+        private final Graph boundGraph;
+        private final Object[] boundIds;
+        private final List<HasContainer> bindings;
+        private int[] slots = null;
+
+        private Shape(final Graph graph, final TraversalEngine engine, final String description, final Object[] ids, final List<HasContainer> bindings) {
+            this.graph = new WeakReference<>(graph);
+            this.engine = engine;
+            this.description = description;
+            this.hashCode = System.identityHashCode(graph) ^ engine.hashCode() ^ description.hashCode();
+            this.boundGraph = graph;
+            this.boundIds = ids;
+            this.bindings = bindings;
+        }
+
+        private Shape(final Shape shape) {
+            this.graph = shape.graph;
+            this.engine = shape.engine;
+            this.description = shape.description;
+            this.hashCode = shape.hashCode;
+            this.boundGraph = null;
+            this.boundIds = null;
+            this.bindings = Collections.emptyList();
+        }
+
+        private Shape unbind() {
+            return new Shape(this);
+        }
+
+        private void bind(final Traversal.Admin<?, ?> traversal) {
+            ((GraphStep<?>) traversal.getStartStep()).setGraph(this.boundGraph);
+            ((GraphStep<?>) traversal.getStartStep()).setIds(this.boundIds);
+            final List<HasContainer> hasContainers = new ArrayList<>();
+            TraversalPlanCache.collectHasContainers(traversal, hasContainers);
+            for (int i = 0; i < this.slots.length; i++) {
+                if (-1 != this.slots[i])
+                    hasContainers.get(i).value = this.bindings.get(this.slots[i]).value;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Shape))
+                return false;
+            final Graph graph = this.graph.get();
+            return null != graph && graph == ((Shape) other).graph.get() &&
+                    this.engine == ((Shape) other).engine &&
+                    this.description.equals(((Shape) other).description);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Traverser;
+
+import java.util.Arrays;
+
+/**
+ * A {@link TraverserBatch} is a reusable array of traversers that is passed between steps so that a step can process
+ * many traversers per call (see {@link com.tinkerpop.gremlin.process.Step#nextBatch}).
+ * Steps append to a batch and may rewrite (or truncate) the traversers that they appended.
+ *
+ * @author agent (agent@local)
+ */
+public final class TraverserBatch<S> {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Traverser.Admin<S>[] traversers;
+    private int size = 0;
+
+    public TraverserBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TraverserBatch(final int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity of a batch must be greater than zero: " + capacity);
+        this.traversers = (Traverser.Admin<S>[]) new Traverser.Admin[capacity];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int capacity() {
+        return this.traversers.length;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public boolean isFull() {
+        return this.traversers.length == this.size;
+    }
+
+    public void add(final Traverser.Admin<S> traverser) {
+        this.traversers[this.size++] = traverser;
+    }
+
+    public Traverser.Admin<S> get(final int index) {
+        return this.traversers[index];
+    }
+
+    public void set(final int index, final Traverser.Admin<S> traverser) {
+        this.traversers[index] = traverser;
+    }
+
+    /**
+     * Drop the traversers that are beyond the size.
+     */
+    public void truncate(final int size) {
+        Arrays.fill(this.traversers, size, this.size, null);
+        this.size = size;
+    }
+
+    public void clear() {
+        this.truncate(0);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(this.traversers, this.size));
+    }
+}
@@ -4,70 +4,103 @@ import com.tinkerpop.gremlin.process.Traverser;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * A {@link TraverserSet} is an insertion ordered set of traversers that merges (i.e. bulks) equal traversers on insert.
+ * The traversers are held in an array in insertion order and are looked up via an open-addressing (linear probing)
+ * table of their positions in that array. Thus, popping the head of the set is constant time and allocates nothing.
+ * The sum of the bulks of the traversers is maintained on insert, merge, and removal.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final int INITIAL_CAPACITY = 4;
 
-    public TraverserSet() {
+    // the traversers in insertion order where a removed traverser leaves a null (the traversers are within [head, tail))
+    private Traverser.Admin<S>[] traversers;
+    // the hash of the traverser at the same position of the traversers array
+    private int[] hashes;
+    // the position of each traverser in the traversers array plus one (a zero denotes an empty bucket)
+    private int[] buckets;
+    private int head;
+    private int tail;
+    private int size;
+    private long bulkSize;
 
+    public TraverserSet() {
+        this.clear();
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this();
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int bucket = this.bucketOf(traverser);
+        return bucket < 0 ? null : this.traversers[this.buckets[bucket] - 1];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
+    /**
+     * Get the sum of the bulks of the traversers. The bulk of a traverser is accounted for when it is added, merged,
+     * or removed and thus, mutating the bulk of a traverser while it is in the set is not reflected.
+     */
     public long bulkSize() {
-        return this.map.values().stream().map(Traverser::bulk).reduce(0l, (a, b) -> a + b);
+        return this.bulkSize;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return this.bucketOf(traverser) >= 0;
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
-            return true;
-        } else {
+        final int hash = hash(traverser);
+        int bucket = this.bucketOf(traverser, hash);
+        if (bucket >= 0) {
+            final Traverser.Admin<S> existing = this.traversers[this.buckets[bucket] - 1];
+            final long bulk = existing.bulk();
             existing.merge(traverser);
+            this.bulkSize = this.bulkSize + existing.bulk() - bulk;
             return false;
         }
+        if (this.tail == this.traversers.length) {
+            // compact the set if at least half of it has been removed, else grow it
+            this.rebuild(this.traversers, this.hashes, this.head, this.tail,
+                    this.size < this.traversers.length / 2 ? this.traversers.length : 2 * this.traversers.length);
+            bucket = this.emptyBucket(hash);
+        } else
+            bucket = -1 - bucket;
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.buckets[bucket] = ++this.tail;
+        this.size++;
+        this.bulkSize = this.bulkSize + traverser.bulk();
+        return true;
     }
 
     @Override
@@ -77,49 +110,179 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        return this.map.remove(this.map.values().iterator().next());
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        final Traverser.Admin<S> traverser = this.traversers[this.head];
+        final int mask = this.buckets.length - 1;
+        int bucket = this.hashes[this.head] & mask;
+        while (this.buckets[bucket] != this.head + 1) {
+            bucket = (bucket + 1) & mask;
+        }
+        this.removeBucket(bucket);
+        return traverser;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.head];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.traversers[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        final int bucket = this.bucketOf(traverser);
+        if (bucket < 0)
+            return false;
+        this.removeBucket(bucket);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        this.traversers = (Traverser.Admin<S>[]) new Traverser.Admin[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.buckets = new int[2 * INITIAL_CAPACITY];
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.bulkSize = 0l;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
     }
 
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+    public void sort(final Comparator<Traverser<S>> comparator) {
+        final Traverser.Admin<S>[] sorted = this.toArray((Traverser.Admin<S>[]) new Traverser.Admin[this.size]);
+        Arrays.sort(sorted, comparator);
+        final int[] hashes = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            hashes[i] = hash(sorted[i]);
+        }
+        this.rebuild(sorted, hashes, 0, sorted.length, this.traversers.length);
     }
 
-    public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.values());
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+    ////////////////
+
+    private static int hash(final Object traverser) {
+        final int hash = traverser.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int bucketOf(final Object traverser) {
+        return null == traverser || 0 == this.size ? -1 : this.bucketOf(traverser, hash(traverser));
+    }
+
+    /**
+     * Get the bucket of the traverser or, if the traverser is not in the set, -1 minus the empty bucket where it would go.
+     */
+    private int bucketOf(final Object traverser, final int hash) {
+        final int mask = this.buckets.length - 1;
+        int bucket = hash & mask;
+        while (0 != this.buckets[bucket]) {
+            final int position = this.buckets[bucket] - 1;
+            if (this.hashes[position] == hash && traverser.equals(this.traversers[position]))
+                return bucket;
+            bucket = (bucket + 1) & mask;
+        }
+        return -1 - bucket;
+    }
+
+    private int emptyBucket(final int hash) {
+        final int mask = this.buckets.length - 1;
+        int bucket = hash & mask;
+        while (0 != this.buckets[bucket]) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    private void removeBucket(int bucket) {
+        final int position = this.buckets[bucket] - 1;
+        // shift the following buckets of the probe sequence back so that no tombstone is required
+        final int mask = this.buckets.length - 1;
+        int next = bucket;
+        while (0 != this.buckets[next = (next + 1) & mask]) {
+            final int home = this.hashes[this.buckets[next] - 1] & mask;
+            if (bucket <= next ? (home <= bucket || home > next) : (home <= bucket && home > next)) {
+                this.buckets[bucket] = this.buckets[next];
+                bucket = next;
+            }
+        }
+        this.buckets[bucket] = 0;
+        this.bulkSize = this.bulkSize - this.traversers[position].bulk();
+        this.traversers[position] = null;
+        if (0 == --this.size) {
+            this.head = 0;
+            this.tail = 0;
+            this.bulkSize = 0l;
+        } else {
+            while (null == this.traversers[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    /**
+     * Copy the traversers of [from, to) into new arrays of the capacity. New arrays are allocated so that the
+     * iterators that are underway continue over the traversers that they were created with.
+     */
+    private void rebuild(final Traverser.Admin<S>[] traversers, final int[] hashes, final int from, final int to, final int capacity) {
+        this.traversers = (Traverser.Admin<S>[]) new Traverser.Admin[capacity];
+        this.hashes = new int[capacity];
+        this.buckets = new int[2 * capacity];
+        this.head = 0;
+        this.tail = 0;
+        for (int i = from; i < to; i++) {
+            if (null != traversers[i]) {
+                this.traversers[this.tail] = traversers[i];
+                this.hashes[this.tail] = hashes[i];
+                this.buckets[this.emptyBucket(hashes[i])] = ++this.tail;
+            }
+        }
     }
 
+    private final class TraverserIterator implements Iterator<Traverser.Admin<S>> {
+
+        private final Traverser.Admin<S>[] traversers = TraverserSet.this.traversers;
+        private int position = TraverserSet.this.head;
+        private Traverser.Admin<S> last = null;
+
+        @Override
+        public boolean hasNext() {
+            // the traversers beyond the tail of the set are either not yet added or stale
+            final int limit = this.traversers == TraverserSet.this.traversers ? TraverserSet.this.tail : this.traversers.length;
+            while (this.position < limit && null == this.traversers[this.position]) {
+                this.position++;
+            }
+            return this.position < limit;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            return this.last = this.traversers[this.position++];
+        }
+
+        @Override
+        public void remove() {
+            if (null == this.last)
+                throw new IllegalStateException();
+            TraverserSet.this.remove(this.last);
+            this.last = null;
+        }
+    }
 }
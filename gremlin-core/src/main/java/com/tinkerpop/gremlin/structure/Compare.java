@@ -1,5 +1,7 @@
 package com.tinkerpop.gremlin.structure;
 
+import com.tinkerpop.gremlin.structure.util.Comparators;
+
 import java.util.function.BiPredicate;
 
 /**
@@ -24,20 +26,20 @@ public enum Compare implements BiPredicate<Object, Object> {
         }
     }, gt {
         public boolean test(final Object first, final Object second) {
-            return !(null == first || second == null) && ((Comparable) first).compareTo(second) >= 1;
+            return !(null == first || second == null) && Compare.compare(first, second) >= 1;
         }
 
     }, gte {
         public boolean test(final Object first, final Object second) {
-            return !(null == first || second == null) && ((Comparable) first).compareTo(second) >= 0;
+            return !(null == first || second == null) && Compare.compare(first, second) >= 0;
         }
     }, lt {
         public boolean test(final Object first, final Object second) {
-            return !(null == first || second == null) && ((Comparable) first).compareTo(second) <= -1;
+            return !(null == first || second == null) && Compare.compare(first, second) <= -1;
         }
     }, lte {
         public boolean test(final Object first, final Object second) {
-            return !(null == first || second == null) && ((Comparable) first).compareTo(second) <= 0;
+            return !(null == first || second == null) && Compare.compare(first, second) <= 0;
         }
     };
 
@@ -47,6 +49,13 @@ public enum Compare implements BiPredicate<Object, Object> {
     @Override
     public abstract boolean test(final Object first, final Object second);
 
+    // numbers of different classes are compared by their value (e.g. an Integer to a Long)
+    private static int compare(final Object first, final Object second) {
+        return first instanceof Number && second instanceof Number && !first.getClass().equals(second.getClass()) ?
+                Comparators.NUMBER_COMPARATOR.compare((Number) first, (Number) second) :
+                ((Comparable) first).compareTo(second);
+    }
+
     /**
      * Produce the opposite representation of the current {@code Compare} enum.
      */
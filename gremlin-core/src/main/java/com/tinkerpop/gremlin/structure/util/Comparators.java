@@ -5,6 +5,8 @@ import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Comparator;
 import java.util.Map;
 
@@ -18,4 +20,38 @@ public final class Comparators {
     public static final Comparator<Property> PROPERTY_COMPARATOR = Comparator.comparing(Property::key, String.CASE_INSENSITIVE_ORDER);
     public static final Comparator<Map.Entry<String, Property>> PROPERTY_ENTRY_COMPARATOR = Comparator.comparing(Map.Entry::getKey, String.CASE_INSENSITIVE_ORDER);
     public static final Comparator<Map.Entry<String, Object>> OBJECT_ENTRY_COMPARATOR = Comparator.comparing(Map.Entry::getKey, String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Compares numbers by their value regardless of their class (e.g. an {@code Integer} to a {@code Long}).
+     */
+    public static final Comparator<Number> NUMBER_COMPARATOR = (a, b) -> {
+        if (isIntegral(a) && isIntegral(b))
+            return Long.compare(a.longValue(), b.longValue());
+        if ((isFloatingPoint(a) && isFloatingPoint(b)) || isNotFinite(a) || isNotFinite(b))
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        return toBigDecimal(a).compareTo(toBigDecimal(b));
+    };
+
+    private static boolean isIntegral(final Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+    }
+
+    private static boolean isFloatingPoint(final Number number) {
+        return number instanceof Double || number instanceof Float;
+    }
+
+    private static boolean isNotFinite(final Number number) {
+        return isFloatingPoint(number) && (Double.isNaN(number.doubleValue()) || Double.isInfinite(number.doubleValue()));
+    }
+
+    private static BigDecimal toBigDecimal(final Number number) {
+        if (number instanceof BigDecimal)
+            return (BigDecimal) number;
+        else if (number instanceof BigInteger)
+            return new BigDecimal((BigInteger) number);
+        else if (isIntegral(number))
+            return BigDecimal.valueOf(number.longValue());
+        else
+            return new BigDecimal(number.doubleValue());
+    }
 }
@@ -5,6 +5,7 @@ import com.tinkerpop.gremlin.process.util.MultiIterator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -118,6 +119,32 @@ public class IteratorUtils {
 
     ///////////////
 
+    public static final <S, E> Iterator<E> flatMap(final Iterator<S> iterator, final Function<S, Iterator<E>> function) {
+        return new Iterator<E>() {
+            private Iterator<E> currentIterator = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.currentIterator.hasNext()) {
+                    if (!iterator.hasNext())
+                        return false;
+                    this.currentIterator = function.apply(iterator.next());
+                }
+                return true;
+            }
+
+            @Override
+            public E next() {
+                if (this.hasNext())
+                    return this.currentIterator.next();
+                else
+                    throw FastNoSuchElementException.instance();
+            }
+        };
+    }
+
+    ///////////////
+
     public static final <S> Iterator<S> filter(final Iterator<S> iterator, final Predicate<S> predicate) {
 
 
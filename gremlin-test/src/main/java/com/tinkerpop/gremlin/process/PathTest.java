@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.process;
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.util.ImmutablePath;
 import com.tinkerpop.gremlin.process.util.MutablePath;
+import com.tinkerpop.gremlin.process.util.PersistentPath;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -19,7 +20,7 @@ public class PathTest extends AbstractGremlinProcessTest {
 
     @Test
     public void shouldHaveStandardSemanticsImplementedCorrectly() {
-        Arrays.asList(MutablePath.make(), ImmutablePath.make()).forEach(path -> {
+        Arrays.asList(MutablePath.make(), ImmutablePath.make(), PersistentPath.make()).forEach(path -> {
             assertTrue(path.isSimple());
             assertEquals(0, path.size());
             path = path.extend(1, "a");
@@ -55,7 +56,7 @@ public class PathTest extends AbstractGremlinProcessTest {
     @Test
     @LoadGraphWith(LoadGraphWith.GraphData.MODERN)
     public void shouldHandleMultiLabelPaths() {
-        Arrays.asList(MutablePath.make(), ImmutablePath.make()).forEach(path -> {
+        Arrays.asList(MutablePath.make(), ImmutablePath.make(), PersistentPath.make()).forEach(path -> {
             path = path.extend("marko", "a");
             path = path.extend("stephen", "b");
             path = path.extend("matthias", "a");
@@ -83,7 +84,7 @@ public class PathTest extends AbstractGremlinProcessTest {
 
     @Test
     public void shouldExcludeUnlabeledLabelsFromPath() {
-        Arrays.asList(MutablePath.make(), ImmutablePath.make()).forEach(path -> {
+        Arrays.asList(MutablePath.make(), ImmutablePath.make(), PersistentPath.make()).forEach(path -> {
             path = path.extend("marko", "a");
             path = path.extend("stephen", "b");
             path = path.extend("matthias", "c", "d");
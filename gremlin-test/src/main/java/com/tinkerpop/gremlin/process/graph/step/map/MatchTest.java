@@ -8,6 +8,7 @@ import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.step.map.match.Bindings;
 import com.tinkerpop.gremlin.process.graph.step.map.match.CrossJoinEnumerator;
 import com.tinkerpop.gremlin.process.graph.step.map.match.Enumerator;
+import com.tinkerpop.gremlin.process.graph.step.map.match.HashJoinEnumerator;
 import com.tinkerpop.gremlin.process.graph.step.map.match.InnerJoinEnumerator;
 import com.tinkerpop.gremlin.process.graph.step.map.match.IteratorEnumerator;
 import com.tinkerpop.gremlin.process.graph.step.map.match.MatchStep;
@@ -623,6 +624,64 @@ public abstract class MatchTest extends AbstractGremlinProcessTest {
                 new Bindings<String>().put("letter", "c").put("number", "4"));
     }
 
+    @Test
+    public void testInnerJoinOfRepeatedVariables() throws Exception {
+        String[] a1 = new String[]{"1", "2", "3", "4"};
+        String[] a2 = new String[]{"2", "4", "6", "8"};
+        String[] a3 = new String[]{"4", "8", "12"};
+
+        Enumerator<String> e1 = new IteratorEnumerator<>("number", Arrays.asList(a1).iterator());
+        Enumerator<String> e2 = new IteratorEnumerator<>("number", Arrays.asList(a2).iterator());
+        Enumerator<String> e3 = new IteratorEnumerator<>("number", Arrays.asList(a3).iterator());
+
+        // three instances of the "number" variable must all be equal
+        Enumerator<String> join = new InnerJoinEnumerator<>(new CrossJoinEnumerator<>(new CrossJoinEnumerator<>(e1, e2), e3), new HashSet<String>() {{
+            add("number");
+        }});
+        exhaust(join);
+        assertEquals(1, join.size());
+        assertResults(join, new Bindings<String>().put("number", "4"));
+    }
+
+    @Test
+    public void testHashJoin() throws Exception {
+        String[] a1 = new String[]{"a", "b", "c"};
+        String[] a2 = new String[]{"1", "2", "3", "4"};
+        String[] a3 = new String[]{"2", "4", "6", "8", "10"};
+        String[] a4 = new String[]{"4", "10"};
+
+        Enumerator<String> e1 = new IteratorEnumerator<>("letter", Arrays.asList(a1).iterator());
+        Enumerator<String> e2 = new IteratorEnumerator<>("number", Arrays.asList(a2).iterator());
+        Enumerator<String> e3 = new IteratorEnumerator<>("number", Arrays.asList(a3).iterator());
+        Enumerator<String> e4 = new IteratorEnumerator<>("number", Arrays.asList(a4).iterator());
+
+        Enumerator<String> join = new HashJoinEnumerator<>(new CrossJoinEnumerator<>(e1, e3), e2, new HashSet<String>() {{
+            add("number");
+        }});
+        exhaust(join);
+        assertEquals(6, join.size());
+
+        assertResults(join,
+                new Bindings<String>().put("letter", "a").put("number", "2"),
+                new Bindings<String>().put("letter", "a").put("number", "4"),
+                new Bindings<String>().put("letter", "b").put("number", "2"),
+                new Bindings<String>().put("letter", "b").put("number", "4"),
+                new Bindings<String>().put("letter", "c").put("number", "2"),
+                new Bindings<String>().put("letter", "c").put("number", "4"));
+
+        // joins of joins bind a variable which is shared by all three enumerators once
+        Enumerator<String> multiJoin = new HashJoinEnumerator<>(e4, join, new HashSet<String>() {{
+            add("number");
+        }});
+        exhaust(multiJoin);
+        assertEquals(3, multiJoin.size());
+
+        assertResults(multiJoin,
+                new Bindings<String>().put("letter", "a").put("number", "4"),
+                new Bindings<String>().put("letter", "b").put("number", "4"),
+                new Bindings<String>().put("letter", "c").put("number", "4"));
+    }
+
     public static class StandardTest extends MatchTest {
         public StandardTest() {
             requiresGraphComputer = false;
@@ -29,6 +29,7 @@ public class TraversalStrategiesTest {
                 c = new StrategyC(),
                 d = new StrategyD(),
                 e = new StrategyE(),
+                f = new StrategyF(),
                 k = new StrategyK();
 
         List<TraversalStrategy> s;
@@ -79,6 +80,15 @@ public class TraversalStrategiesTest {
         assertEquals(c, s.get(3));
         assertEquals(e, s.get(4));
 
+        //Dependency declared as a post only and separated by an unrelated strategy
+        s = Stream.of(c, a, f)
+                .collect(Collectors.toList());
+        TraversalStrategies.sortStrategies(s);
+        assertEquals(3, s.size());
+        assertEquals(a, s.get(0));
+        assertEquals(f, s.get(1));
+        assertEquals(c, s.get(2));
+
         //Circular dependency => throws exception
         s = Stream.of(d, c, k, a, e, b)
                 .collect(Collectors.toList());
@@ -146,6 +156,15 @@ public class TraversalStrategiesTest {
 
     }
 
+    public static class StrategyF extends DummyStrategy {
+
+        @Override
+        public Set<Class<? extends TraversalStrategy>> applyPost() {
+            return Stream.of(StrategyC.class).collect(Collectors.toSet());
+        }
+
+    }
+
     public static class StrategyK extends DummyStrategy {
 
         @Override
@@ -0,0 +1,108 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Path;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class PersistentPathTest {
+
+    @Test
+    public void shouldNotSeeTheExtensionsAndLabelsOfClones() throws Exception {
+        final Path path = PersistentPath.make().extend("marko", "a").extend("josh", "b");
+        final Path clone = path.clone().extend("ripple", "c");
+        clone.addLabel("d");
+        path.addLabel("e");
+        assertEquals(2, path.size());
+        assertEquals(3, clone.size());
+        assertEquals(Arrays.asList("marko", "josh"), path.objects());
+        assertEquals(Arrays.asList("marko", "josh", "ripple"), clone.objects());
+        assertFalse(path.hasLabel("c"));
+        assertFalse(path.hasLabel("d"));
+        assertTrue(path.hasLabel("e"));
+        assertTrue(clone.hasLabel("c"));
+        assertTrue(clone.hasLabel("d"));
+        assertFalse(clone.hasLabel("e"));
+        assertEquals(new HashSet<>(Arrays.asList("b", "e")), path.labels().get(1));
+        assertEquals(Collections.singleton("b"), clone.labels().get(1));
+        assertEquals(new HashSet<>(Arrays.asList("c", "d")), clone.labels().get(2));
+    }
+
+    @Test
+    public void shouldBeEqualIfObjectsAndLabelsAreEqual() throws Exception {
+        final Path path = PersistentPath.make().extend("marko", "a").extend("josh");
+        final Path clone = path.clone();
+        assertEquals(path, clone);
+        assertEquals(path.hashCode(), clone.hashCode());
+        final Path other = PersistentPath.make().extend("marko", "a").extend("josh");
+        assertEquals(path, other);
+        assertEquals(path.hashCode(), other.hashCode());
+        clone.addLabel("b");
+        assertNotEquals(path, clone);
+        assertNotEquals(path, path.clone().extend("ripple"));
+    }
+
+    @Test
+    public void shouldOnlyRetainReferencedLabelsOnceRetracted() throws Exception {
+        final Path path = PersistentPath.make().extend("marko", "a").extend("josh").extend("ripple", "b", "c").extend("lop");
+        final Path clone = path.clone();
+        path.retract(new HashSet<>(Arrays.asList("a", "c")));
+        assertEquals(Arrays.asList("marko", "ripple", "lop"), path.objects());
+        assertEquals(Arrays.asList(Collections.singleton("a"), Collections.singleton("c"), Collections.emptySet()), path.labels());
+        assertFalse(path.hasLabel("b"));
+        assertEquals("ripple", path.get("c"));
+        path.extend("peter").extend("vadas", "d");
+        assertEquals(Arrays.asList("marko", "ripple", "vadas"), path.objects());
+        assertEquals(4, clone.size());
+        assertTrue(clone.hasLabel("b"));
+        path.retract(Collections.emptySet());
+        assertEquals(Collections.singletonList("vadas"), path.objects());
+        assertFalse(path.hasLabel("d"));
+    }
+
+    @Test
+    public void shouldHashLongPathsAndProvideMutableLabels() throws Exception {
+        Path path = PersistentPath.make();
+        for (int i = 0; i < 100000; i++) {
+            path = path.extend(i);
+        }
+        final int hashCode = path.hashCode();
+        assertEquals(hashCode * 31 + "marko".hashCode(), path.clone().extend("marko").hashCode());
+        final Path labeled = PersistentPath.make().extend("marko").extend("josh", "a");
+        labeled.labels().get(0).add("b");
+        labeled.labels().get(1).add("b");
+        assertFalse(labeled.hasLabel("b"));
+    }
+
+    @Test
+    public void shouldSupportMoreLabelsThanTheBitmapHolds() throws Exception {
+        final PersistentPath.LabelIndex labelIndex = new PersistentPath.LabelIndex();
+        Path path = PersistentPath.make(labelIndex);
+        for (int i = 0; i < PersistentPath.LabelIndex.MAX_BITMAP_SIZE + 10; i++) {
+            path = path.extend(i, "x" + i, "y");
+        }
+        assertEquals(PersistentPath.LabelIndex.MAX_BITMAP_SIZE + 11, labelIndex.size());
+        for (int i = 0; i < PersistentPath.LabelIndex.MAX_BITMAP_SIZE + 10; i++) {
+            assertTrue(path.hasLabel("x" + i));
+            assertEquals(Integer.valueOf(i), path.get("x" + i));
+            assertEquals(new HashSet<>(Arrays.asList("x" + i, "y")), path.labels().get(i));
+        }
+        assertFalse(path.hasLabel("z"));
+        assertEquals(PersistentPath.LabelIndex.MAX_BITMAP_SIZE + 10, path.<List<Integer>>get("y").size());
+        assertEquals(Integer.valueOf(0), path.<List<Integer>>get("y").get(0));
+        path.addLabel("z");
+        assertTrue(path.hasLabel("z"));
+        assertEquals(Integer.valueOf(PersistentPath.LabelIndex.MAX_BITMAP_SIZE + 9), path.get("z"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeTraversersAndMaintainBulkSize() {
+        final TraverserSet<String> set = new TraverserSet<>();
+        assertTrue(set.add(new B_O_Traverser<>("marko", 1l)));
+        assertTrue(set.add(new B_O_Traverser<>("matthias", 2l)));
+        assertFalse(set.add(new B_O_Traverser<>("marko", 7l)));
+        assertTrue(set.add(new B_O_Traverser<>("stephen", 1l)));
+        assertEquals(3, set.size());
+        assertEquals(11l, set.bulkSize());
+        assertEquals(8l, set.get(new B_O_Traverser<>("marko", 1l)).bulk());
+        assertTrue(set.remove(new B_O_Traverser<>("matthias", 1l)));
+        assertFalse(set.remove(new B_O_Traverser<>("matthias", 1l)));
+        assertEquals(2, set.size());
+        assertEquals(9l, set.bulkSize());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(0l, set.bulkSize());
+        assertNull(set.poll());
+    }
+
+    @Test
+    public void shouldPopTraversersInInsertionOrder() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(new B_O_Traverser<>(i, 1l));
+            if (i % 3 == 0)
+                assertEquals(i / 3, set.remove().get().intValue());
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(new B_O_Traverser<>(i, 1l)) == i > 333);
+        }
+        for (int i = 334; i < 1000; i++) {
+            if (i % 2 == 0)
+                assertTrue(set.remove(new B_O_Traverser<>(i, 1l)));
+        }
+        int expected = 335;
+        while (!set.isEmpty()) {
+            assertEquals(expected, set.peek().get().intValue());
+            assertEquals(expected, set.remove().get().intValue());
+            expected = expected + 2;
+        }
+        assertEquals(0l, set.bulkSize());
+    }
+
+    @Test
+    public void shouldIterateAndSortTraversers() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(new B_O_Traverser<>(i, 2l));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(50, set.size());
+        assertEquals(100l, set.bulkSize());
+        set.sort(Comparator.comparing(traverser -> -traverser.get()));
+        int expected = 99;
+        for (final Traverser.Admin<Integer> traverser : set) {
+            assertEquals(expected, traverser.get().intValue());
+            expected = expected - 2;
+        }
+        assertTrue(set.contains(new B_O_Traverser<>(51, 1l)));
+        assertEquals(99, set.remove().get().intValue());
+    }
+}
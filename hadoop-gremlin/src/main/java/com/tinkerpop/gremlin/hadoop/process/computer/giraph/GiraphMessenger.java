@@ -39,7 +39,7 @@ public class GiraphMessenger<M> implements Messenger<M> {
             final Direction direction = GiraphMessenger.getOppositeDirection(incidentTraversal);
             incidentTraversal.forEachRemaining(edge ->
                     this.giraphComputeVertex.sendMessage(
-                            new LongWritable(Long.valueOf(edge.iterators().vertexIterator(direction).next().id().toString())),
+                            new LongWritable(Long.valueOf(GiraphMessenger.getAdjacentVertex(edge, direction, this.giraphComputeVertex.getBaseVertex()).id().toString())),
                             new ObjectWritable<>(localMessageScope.getEdgeFunction().apply(message, edge))));
         } else {
             final MessageScope.Global globalMessageScope = (MessageScope.Global) messageScope;
@@ -53,6 +53,14 @@ public class GiraphMessenger<M> implements Messenger<M> {
         return (T) incidentTraversal;
     }
 
+    // the receiving vertex of the edge (which is the other vertex of the edge if the incident traversal is in both directions)
+    private static Vertex getAdjacentVertex(final Edge edge, final Direction direction, final Vertex vertex) {
+        if (!Direction.BOTH.equals(direction))
+            return edge.iterators().vertexIterator(direction).next();
+        final Vertex outVertex = edge.iterators().vertexIterator(Direction.OUT).next();
+        return vertex.equals(outVertex) ? edge.iterators().vertexIterator(Direction.IN).next() : outVertex;
+    }
+
     private static Direction getOppositeDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection().opposite();
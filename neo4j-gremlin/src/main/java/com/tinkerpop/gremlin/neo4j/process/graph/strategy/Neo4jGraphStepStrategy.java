@@ -4,11 +4,18 @@ import com.tinkerpop.gremlin.neo4j.process.graph.step.sideEffect.Neo4jGraphStep;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
 import com.tinkerpop.gremlin.process.graph.marker.HasContainerHolder;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
 import com.tinkerpop.gremlin.process.graph.strategy.AbstractTraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.PathRetractionStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.StepFusionStrategy;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * @author Pieter Martin
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -16,6 +23,7 @@ import com.tinkerpop.gremlin.process.util.TraversalHelper;
 public class Neo4jGraphStepStrategy extends AbstractTraversalStrategy {
 
     private static final Neo4jGraphStepStrategy INSTANCE = new Neo4jGraphStepStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> POSTS = new HashSet<>(Arrays.asList(PathRetractionStrategy.class, StepFusionStrategy.class));
 
     private Neo4jGraphStepStrategy() {
     }
@@ -44,6 +52,11 @@ public class Neo4jGraphStepStrategy extends AbstractTraversalStrategy {
         }
     }
 
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPost() {
+        return POSTS;
+    }
+
     public static Neo4jGraphStepStrategy instance() {
         return INSTANCE;
     }
@@ -0,0 +1,54 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import com.tinkerpop.gremlin.process.computer.Memory;
+import com.tinkerpop.gremlin.process.computer.VertexProgram;
+
+import java.util.Set;
+
+/**
+ * The {@link TinkerASPMemory} is the asynchronous {@link Memory} of a {@link TinkerGraphComputer} that is used for
+ * {@link com.tinkerpop.gremlin.process.computer.GraphComputer.Isolation#DIRTY_BSP}.
+ * Every read is against the current memory and thus, an update is visible to the vertices executed after it
+ * without waiting for the end of the iteration.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerASPMemory extends TinkerMemory {
+
+    public TinkerASPMemory(final VertexProgram<?> vertexProgram, final Set<MapReduce> mapReducers) {
+        super(vertexProgram, mapReducers);
+    }
+
+    @Override
+    public Set<String> keys() {
+        return this.currentMap.keySet();
+    }
+
+    @Override
+    public <R> R get(final String key) throws IllegalArgumentException {
+        final R r = (R) this.currentMap.get(key);
+        if (null == r)
+            throw Memory.Exceptions.memoryDoesNotExist(key);
+        else
+            return r;
+    }
+
+    @Override
+    public long incr(final String key, final long delta) {
+        checkKeyValue(key, delta);
+        return (Long) this.currentMap.compute(key, (k, v) -> null == v ? delta : delta + (Long) v);
+    }
+
+    @Override
+    public boolean and(final String key, final boolean bool) {
+        checkKeyValue(key, bool);
+        return (Boolean) this.currentMap.compute(key, (k, v) -> null == v ? bool : bool && (Boolean) v);
+    }
+
+    @Override
+    public boolean or(final String key, final boolean bool) {
+        checkKeyValue(key, bool);
+        return (Boolean) this.currentMap.compute(key, (k, v) -> null == v ? bool : bool || (Boolean) v);
+    }
+}
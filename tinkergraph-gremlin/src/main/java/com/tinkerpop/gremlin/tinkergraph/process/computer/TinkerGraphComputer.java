@@ -11,13 +11,14 @@ import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 /**
@@ -29,14 +30,79 @@ public class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = 0;
+    private ExecutorService executor = null;
+    private long[] workerVertexCounts = new long[0];
+    private long[] workerTimes = new long[0];
 
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
     }
 
+    /**
+     * Set the number of workers that will concurrently execute the {@link VertexProgram} and {@link MapReduce} jobs.
+     * The default is the number of available processors.
+     *
+     * @param workers the number of workers
+     * @return the updated GraphComputer with newly set number of workers
+     */
+    public TinkerGraphComputer workers(final int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + workers);
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Set the {@link ExecutorService} that will execute the workers (e.g. a {@link java.util.concurrent.ForkJoinPool}
+     * shared by many computers). The executor is not shutdown by the computer. If no executor is provided,
+     * the computer creates a fixed thread pool for the duration of the job.
+     *
+     * @param executor the executor to execute the workers with
+     * @return the updated GraphComputer with newly set executor
+     */
+    public TinkerGraphComputer executor(final ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Set the number of contiguous vertices a worker claims at a time from the vertex set.
+     * If no chunk size is provided, the chunks are sized according to the number of vertices and workers.
+     *
+     * @param chunkSize the number of vertices in a chunk (greater than zero)
+     * @return the updated GraphComputer with newly set chunk size
+     */
+    public TinkerGraphComputer chunkSize(final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be greater than zero: " + chunkSize);
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Get the number of {@link VertexProgram#execute} calls made by each worker over all iterations of the last
+     * submitted job. Large differences between workers denote skew in the per-vertex cost of the program.
+     *
+     * @return the number of vertices executed indexed by worker
+     */
+    public long[] getWorkerVertexCounts() {
+        return this.workerVertexCounts.clone();
+    }
+
+    /**
+     * Get the time (in nanoseconds) each worker spent executing vertices over all iterations of the last submitted job.
+     *
+     * @return the execution time indexed by worker
+     */
+    public long[] getWorkerTimes() {
+        return this.workerTimes.clone();
+    }
+
     @Override
     public GraphComputer isolation(final Isolation isolation) {
         this.isolation = isolation;
@@ -74,69 +140,78 @@ public class TinkerGraphComputer implements GraphComputer {
         final Graph sg = null == this.vertexProgram ? this.graph :
                 this.graph.strategy(new ComputerDataStrategy(this.vertexProgram.getElementComputeKeys()));
 
-        this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
+        this.memory = Isolation.DIRTY_BSP.equals(this.isolation) ?
+                new TinkerASPMemory(this.vertexProgram, this.mapReducers) :
+                new TinkerMemory(this.vertexProgram, this.mapReducers);
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
-            if (null != this.vertexProgram) {
-                TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
-
-                // execute the vertex program
-                this.vertexProgram.setup(this.memory);
-                this.memory.completeSubRound();
-                final TinkerWorkerPool workers = new TinkerWorkerPool(Runtime.getRuntime().availableProcessors(), this.vertexProgram);
-                while (true) {
-                    workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationStart(this.memory.asImmutable()));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(sg.iterators().vertexIterator());
-                    workers.executeVertexProgram(vertexProgram -> {
-                        while (true) {
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) return;
-                            vertexProgram.execute(vertex, new TinkerMessenger(vertex, this.messageBoard, vertexProgram.getMessageCombiner()), this.memory);
-                        }
-                    });
-                    workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationEnd(this.memory.asImmutable()));
-                    this.messageBoard.completeIteration();
+            try (final TinkerWorkerPool workers = null == this.executor ?
+                    new TinkerWorkerPool(this.workers) :
+                    new TinkerWorkerPool(this.workers, this.executor)) {
+                workers.setChunkSize(this.chunkSize);
+                final Vertex[] vertices;
+                if (null != this.vertexProgram) {
+                    // the vertices are indexed by their ordinal in the graph view
+                    final TinkerGraphView view = TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
+                    vertices = new Vertex[view.getNumberOfVertices()];
+                    sg.iterators().vertexIterator().forEachRemaining(vertex -> vertices[TinkerHelper.getOrdinal(this.graph, vertex)] = vertex);
+                    this.messageBoard = new TinkerMessageBoard(this.graph, vertices.length, this.vertexProgram.getMessageCombiner(), this.isolation, this.vertexProgram.getFeatures().isMessageDriven());
+
+                    // execute the vertex program
+                    this.vertexProgram.setup(this.memory);
                     this.memory.completeSubRound();
-                    if (this.vertexProgram.terminate(this.memory)) {
-                        this.memory.incrIteration();
-                        this.memory.completeSubRound();
-                        break;
-                    } else {
-                        this.memory.incrIteration();
+                    workers.setVertexProgram(this.vertexProgram);
+                    int[] activeVertices = null; // all vertices are active in the initial iteration
+                    while (true) {
+                        workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationStart(this.memory.asImmutable()));
+                        if (null == activeVertices) {
+                            workers.executeVertexProgram(vertices.length, (vertexProgram, index) -> {
+                                final Vertex vertex = vertices[index];
+                                vertexProgram.execute(vertex, new TinkerMessenger(vertex, this.messageBoard), this.memory);
+                            });
+                        } else {
+                            final int[] ordinals = activeVertices;
+                            workers.executeVertexProgram(ordinals.length, (vertexProgram, index) -> {
+                                final Vertex vertex = vertices[ordinals[index]];
+                                vertexProgram.execute(vertex, new TinkerMessenger(vertex, this.messageBoard), this.memory);
+                            });
+                        }
+                        workers.executeVertexProgram(vertexProgram -> vertexProgram.workerIterationEnd(this.memory.asImmutable()));
+                        this.messageBoard.completeIteration();
+                        activeVertices = this.messageBoard.getActiveVertices(); // null if the vertex program is not message driven
                         this.memory.completeSubRound();
+                        if (this.vertexProgram.terminate(this.memory)) {
+                            this.memory.incrIteration();
+                            this.memory.completeSubRound();
+                            break;
+                        } else {
+                            this.memory.incrIteration();
+                            this.memory.completeSubRound();
+                        }
                     }
+                    this.workerVertexCounts = workers.getWorkerItems();
+                    this.workerTimes = workers.getWorkerTimes();
+                } else {
+                    vertices = IteratorUtils.list(sg.iterators().vertexIterator()).toArray(new Vertex[0]);
                 }
-            }
 
-            // execute mapreduce jobs
-            for (final MapReduce mapReduce : this.mapReducers) {
-                final TinkerWorkerPool workers = new TinkerWorkerPool(Runtime.getRuntime().availableProcessors(), mapReduce);
-                if (mapReduce.doStage(MapReduce.Stage.MAP)) {
-                    final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(sg.iterators().vertexIterator());
-                    workers.executeMapReduce(workerMapReduce -> {
-                        while (true) {
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) return;
-                            workerMapReduce.map(vertex, mapEmitter);
+                // execute mapreduce jobs
+                for (final MapReduce mapReduce : this.mapReducers) {
+                    if (mapReduce.doStage(MapReduce.Stage.MAP)) {
+                        workers.setMapReduce(mapReduce);
+                        final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
+                        workers.executeMapReduce(vertices.length, (workerMapReduce, index) -> workerMapReduce.map(vertices[index], mapEmitter));
+                        mapEmitter.complete(mapReduce); // sort results if a map output sort is defined
+                        // no need to run combiners as this is single machine
+                        if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+                            final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
+                            final Map.Entry<?, Queue<?>>[] keyValues = mapEmitter.reduceMap.entrySet().toArray(new Map.Entry[mapEmitter.reduceMap.size()]);
+                            workers.executeMapReduce(keyValues.length, (workerMapReduce, index) -> workerMapReduce.reduce(keyValues[index].getKey(), keyValues[index].getValue().iterator(), reduceEmitter));
+                            reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
+                            mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
+                        } else {
+                            mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
                         }
-                    });
-                    mapEmitter.complete(mapReduce); // sort results if a map output sort is defined
-                    // no need to run combiners as this is single machine
-                    if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
-                        final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
-                        workers.executeMapReduce(workerMapReduce -> {
-                            while (true) {
-                                final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) return;
-                                workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
-                            }
-                        });
-                        reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
-                        mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
-                    } else {
-                        mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
                     }
                 }
             }
@@ -151,18 +226,4 @@ public class TinkerGraphComputer implements GraphComputer {
     public String toString() {
         return StringFactory.graphComputerString(this);
     }
-
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
-
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
-    }
-
-}
\ No newline at end of file
+}
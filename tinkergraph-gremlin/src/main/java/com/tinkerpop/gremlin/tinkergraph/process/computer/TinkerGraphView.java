@@ -6,6 +6,7 @@ import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerElement;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerProperty;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
@@ -14,6 +15,7 @@ import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,24 +24,56 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * The {@link TinkerGraphView} stores the element compute keys of a {@link TinkerGraphComputer} job.
+ * Each vertex compute key is stored in a column, i.e. dense arrays indexed by the ordinal of the vertex
+ * (see {@link TinkerHelper#getOrdinal}). {@link Double} and {@link Long} values are stored in primitive arrays and
+ * any other value is stored in an object array. The {@link com.tinkerpop.gremlin.structure.VertexProperty} of a
+ * column value is only materialized when it is read and its id is derived from the ordinal of the vertex so that
+ * every read of the same value yields an equal property. These ids are local to the job as they are negative and
+ * thus, disjoint from the ids generated by the graph (whose id counter is not advanced). If a vertex has multiple
+ * properties for the same key or a property is given meta-properties, the properties of that vertex and key are
+ * stored as objects.
+ * The compute keys of edges (and vertices without an ordinal) are stored in a map.
+ * <p/>
+ * A column is safe for concurrent access as long as the properties of a vertex are only written by the worker
+ * executing that vertex.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerGraphView {
 
     protected final Set<String> computeKeys;
     protected final GraphComputer.Isolation isolation;
+    protected final int numberOfVertices;
+    private final Map<String, Column> columns;
     private Map<Element, Map<String, List<Property>>> computeProperties;
 
-    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
+    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys, final int numberOfVertices) {
         this.isolation = isolation;
         this.computeKeys = computeKeys;
+        this.numberOfVertices = numberOfVertices;
+        this.columns = new HashMap<>();
+        int keyIndex = 0;
+        for (final String key : computeKeys) {
+            this.columns.put(key, new Column(key, keyIndex++, computeKeys.size()));
+        }
         this.computeProperties = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Get the number of vertices in the view. Each vertex has an ordinal between 0 and the number of vertices (exclusive).
+     */
+    public int getNumberOfVertices() {
+        return this.numberOfVertices;
+    }
+
     public <V> Property<V> setProperty(final TinkerElement element, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
             if (element instanceof Vertex) {
+                final int ordinal = this.getOrdinal(element);
+                if (-1 != ordinal)
+                    return this.columns.get(key).set((TinkerVertex) element, ordinal, value);
                 final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) element, key, value) {
                     @Override
                     public void remove() {
@@ -64,22 +98,37 @@ public class TinkerGraphView {
     }
 
     public List<Property> getProperty(final TinkerElement element, final String key) {
-        return isComputeKey(key) ? this.getValue(element, key) : TinkerHelper.getProperties(element).getOrDefault(key, Collections.emptyList());
+        if (isComputeKey(key)) {
+            final int ordinal = this.getOrdinal(element);
+            return -1 == ordinal ?
+                    this.getValue(element, key) :
+                    this.columns.get(key).get((TinkerVertex) element, ordinal);
+        } else
+            return TinkerHelper.getProperties(element).getOrDefault(key, Collections.emptyList());
     }
 
     public List<Property> getProperties(final TinkerElement element) {
         final Stream<Property> a = TinkerHelper.getProperties(element).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(element) ?
-                this.computeProperties.get(element).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
+        final int ordinal = this.getOrdinal(element);
+        final Stream<Property> b;
+        if (-1 != ordinal)
+            b = this.columns.values().stream().flatMap(column -> column.get((TinkerVertex) element, ordinal).stream());
+        else
+            b = this.computeProperties.containsKey(element) ?
+                    this.computeProperties.get(element).values().stream().flatMap(list -> list.stream()) :
+                    Stream.empty();
         return Stream.concat(a, b).collect(Collectors.toList());
     }
 
     public void removeProperty(final TinkerElement element, final String key, final Property property) {
         if (isComputeKey(key)) {
-            if (element instanceof Vertex)
-                this.removeValue(element, key, property);
-            else
+            if (element instanceof Vertex) {
+                final int ordinal = this.getOrdinal(element);
+                if (-1 != ordinal)
+                    this.columns.get(key).remove(ordinal, property);
+                else
+                    this.removeValue(element, key, property);
+            } else
                 this.removeValue(element, key);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
@@ -88,6 +137,13 @@ public class TinkerGraphView {
 
     //////////////////////
 
+    private int getOrdinal(final TinkerElement element) {
+        if (!(element instanceof Vertex))
+            return -1;
+        final int ordinal = TinkerHelper.getOrdinal((TinkerGraph) element.graph(), (Vertex) element);
+        return ordinal < this.numberOfVertices ? ordinal : -1;
+    }
+
     private void setValue(final Element element, final String key, final Property property) {
         final Map<String, List<Property>> elementProperties = this.computeProperties.computeIfAbsent(element, k -> new ConcurrentHashMap<>());
         elementProperties.compute(key, (k, v) -> {
@@ -124,4 +180,178 @@ public class TinkerGraphView {
     public boolean isComputeKey(final String key) {
         return this.computeKeys.contains(key);
     }
-}
\ No newline at end of file
+
+    //////////////////////
+
+    /**
+     * The values of a single vertex compute key indexed by vertex ordinal. The state of each ordinal determines which
+     * array holds its value. The value arrays are only allocated once a value of their type is written.
+     */
+    private final class Column {
+
+        private static final byte EMPTY = 0;
+        private static final byte DOUBLE = 1;
+        private static final byte LONG = 2;
+        private static final byte OBJECT = 3;
+        private static final byte PROPERTIES = 4;
+
+        private final String key;
+        private final int keyIndex;
+        private final int idStride;
+        private final byte[] states;
+        private volatile double[] doubles;
+        private volatile long[] longs;
+        private volatile Object[] objects;
+
+        public Column(final String key, final int keyIndex, final int idStride) {
+            this.key = key;
+            this.keyIndex = keyIndex;
+            this.idStride = idStride;
+            this.states = new byte[numberOfVertices];
+        }
+
+        public <V> Property<V> set(final TinkerVertex vertex, final int ordinal, final V value) {
+            final byte state = this.states[ordinal];
+            if (EMPTY == state) {
+                if (value instanceof Double) {
+                    this.getDoubles()[ordinal] = (Double) value;
+                    this.states[ordinal] = DOUBLE;
+                } else if (value instanceof Long) {
+                    this.getLongs()[ordinal] = (Long) value;
+                    this.states[ordinal] = LONG;
+                } else {
+                    this.getObjects()[ordinal] = value;
+                    this.states[ordinal] = OBJECT;
+                }
+                return new ColumnVertexProperty<>(this.getId(ordinal), vertex, this.key, value);
+            } else {
+                final ColumnVertexProperty<V> property = new ColumnVertexProperty<>(vertex, this.key, value);
+                this.getProperties(vertex, ordinal, null).add(property);
+                return property;
+            }
+        }
+
+        public List<Property> get(final TinkerVertex vertex, final int ordinal) {
+            switch (this.states[ordinal]) {
+                case EMPTY:
+                    return Collections.emptyList();
+                case PROPERTIES:
+                    return (List<Property>) this.objects[ordinal];
+                default:
+                    return Collections.singletonList(this.materialize(vertex, ordinal));
+            }
+        }
+
+        public void remove(final int ordinal, final Property property) {
+            final byte state = this.states[ordinal];
+            if (PROPERTIES == state) {
+                final List<Property> properties = (List<Property>) this.objects[ordinal];
+                properties.remove(property);
+                if (properties.isEmpty())
+                    this.clear(ordinal);
+            } else if (EMPTY != state && property instanceof ColumnVertexProperty && this.getId(ordinal).equals(((ColumnVertexProperty) property).id()))
+                this.clear(ordinal);
+        }
+
+        /**
+         * Move the value of the ordinal to a list of properties (if it is not already).
+         * If the provided property is the materialization of the value, it becomes the stored property.
+         */
+        public List<Property> getProperties(final TinkerVertex vertex, final int ordinal, final Property property) {
+            final byte state = this.states[ordinal];
+            if (PROPERTIES == state)
+                return (List<Property>) this.objects[ordinal];
+            final List<Property> properties = new ArrayList<>(2);
+            if (EMPTY != state)
+                properties.add(null != property && this.getId(ordinal).equals(((ColumnVertexProperty) property).id()) ?
+                        property :
+                        this.materialize(vertex, ordinal));
+            this.getObjects()[ordinal] = properties;
+            this.states[ordinal] = PROPERTIES;
+            return properties;
+        }
+
+        private Long getId(final int ordinal) {
+            return -1l - ((long) ordinal * this.idStride + this.keyIndex);
+        }
+
+        private Property materialize(final TinkerVertex vertex, final int ordinal) {
+            final Object value;
+            switch (this.states[ordinal]) {
+                case DOUBLE:
+                    value = this.doubles[ordinal];
+                    break;
+                case LONG:
+                    value = this.longs[ordinal];
+                    break;
+                default:
+                    value = this.objects[ordinal];
+            }
+            return new ColumnVertexProperty<>(this.getId(ordinal), vertex, this.key, value);
+        }
+
+        private void clear(final int ordinal) {
+            if (OBJECT == this.states[ordinal] || PROPERTIES == this.states[ordinal])
+                this.objects[ordinal] = null;
+            this.states[ordinal] = EMPTY;
+        }
+
+        private double[] getDoubles() {
+            if (null == this.doubles) {
+                synchronized (this) {
+                    if (null == this.doubles)
+                        this.doubles = new double[numberOfVertices];
+                }
+            }
+            return this.doubles;
+        }
+
+        private long[] getLongs() {
+            if (null == this.longs) {
+                synchronized (this) {
+                    if (null == this.longs)
+                        this.longs = new long[numberOfVertices];
+                }
+            }
+            return this.longs;
+        }
+
+        private Object[] getObjects() {
+            if (null == this.objects) {
+                synchronized (this) {
+                    if (null == this.objects)
+                        this.objects = new Object[numberOfVertices];
+                }
+            }
+            return this.objects;
+        }
+    }
+
+    /**
+     * A vertex property of a {@link Column}. Removing the property removes it from the column and attaching a
+     * meta-property to the property moves the property into the object array of the column.
+     */
+    private final class ColumnVertexProperty<V> extends TinkerVertexProperty<V> {
+
+        public ColumnVertexProperty(final Object id, final TinkerVertex vertex, final String key, final V value) {
+            super(id, vertex, key, value);
+        }
+
+        public ColumnVertexProperty(final TinkerVertex vertex, final String key, final V value) {
+            super(vertex, key, value);
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            final int ordinal = getOrdinal((TinkerVertex) this.element());
+            if (-1 != ordinal)
+                columns.get(this.key()).getProperties((TinkerVertex) this.element(), ordinal, this);
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
+    }
+}
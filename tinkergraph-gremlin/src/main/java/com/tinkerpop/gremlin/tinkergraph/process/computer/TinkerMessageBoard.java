@@ -1,21 +1,459 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
+import com.tinkerpop.gremlin.process.computer.MessageScope;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Supplier;
 
 /**
+ * The {@link TinkerMessageBoard} stores the messages of a {@link TinkerGraphComputer} job in dense arrays that are
+ * indexed by the ordinal of the receiving vertex (see {@link TinkerHelper#getOrdinal}).
+ * If the vertex program has no {@link MessageCombiner}, each vertex has a queue of messages.
+ * If the vertex program has a {@link MessageCombiner}, each vertex has a single slot that holds the combination of
+ * all the messages sent to it. If the combiner is also a {@link DoubleBinaryOperator} (or {@link LongBinaryOperator}),
+ * the messages are combined into a primitive double[] (or long[]) and no message object is retained.
+ * At the end of an iteration, the send and receive arrays are swapped and the new send array is cleared.
+ * <p/>
+ * With {@link GraphComputer.Isolation#DIRTY_BSP}, the messages sent during an iteration are visible to the vertices
+ * that are executed later in the same iteration. A vertex takes the messages sent to it thus far (so they are not
+ * received again in the next iteration) and the taken messages are retained until the end of the iteration (so they are
+ * received again if the vertex receives its messages more than once in the iteration). The messages stored at a vertex
+ * for its neighbors (i.e. local messages)
+ * are read from the send array if the vertex has already sent them in the current iteration (along with the messages
+ * of the receive array if the messages are combined into an object).
+ * <p/>
+ * With {@link GraphComputer.Isolation#BSP}, the messages that are combined into an object (rather than into a primitive)
+ * are first combined in a buffer of the sending worker thread and the buffers are flushed at the end of the iteration.
+ * Thus, the messages that a worker sends to the same vertex (e.g. the traversers of a traversal) are combined without
+ * contending for the lock of the vertex.
+ * <p/>
+ * If the active vertices are tracked, every vertex that is sent a message (or is activated by a local message of a
+ * neighbor) is flagged and at the end of the iteration, the flagged ordinals become the active vertices of the next iteration.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    private static final int LOCK_STRIPES = 1024;
+
+    private final TinkerGraph graph;
+    private final boolean dirty;
+    // the messages that were taken from the send array by each vertex in the current iteration (if dirty)
+    private final List<M>[] takenMessages;
+    private final boolean[] activeVertices;
+    private int[] nextActiveVertices = null;
+    private Messages<M> sendMessages;
+    private Messages<M> receiveMessages;
+    private final MessageCombiner<M> bufferCombiner;
+    private final Queue<Map<Integer, M>> sendBuffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<Integer, M>> sendBuffer = new ThreadLocal<Map<Integer, M>>() {
+        @Override
+        protected Map<Integer, M> initialValue() {
+            final Map<Integer, M> buffer = new HashMap<>();
+            TinkerMessageBoard.this.sendBuffers.add(buffer);
+            return buffer;
+        }
+    };
+    private final Map<Supplier<?>, Optional<VertexStep<Edge>>> incidentSteps = new ConcurrentHashMap<>();
+
+    public TinkerMessageBoard(final TinkerGraph graph, final int numberOfVertices, final Optional<MessageCombiner<M>> combiner, final GraphComputer.Isolation isolation, final boolean trackActiveVertices) {
+        this.graph = graph;
+        this.dirty = GraphComputer.Isolation.DIRTY_BSP.equals(isolation);
+        this.takenMessages = this.dirty ? new List[numberOfVertices] : null;
+        this.activeVertices = trackActiveVertices ? new boolean[numberOfVertices] : null;
+        this.sendMessages = TinkerMessageBoard.createMessages(numberOfVertices, combiner);
+        this.receiveMessages = TinkerMessageBoard.createMessages(numberOfVertices, combiner);
+        this.bufferCombiner = !this.dirty && this.sendMessages instanceof CombinedMessages ? combiner.get() : null;
+    }
+
+    public void sendMessage(final Vertex vertex, final M message) {
+        final int ordinal = this.storeMessage(vertex, message);
+        if (null != this.activeVertices)
+            this.activeVertices[ordinal] = true;
+    }
+
+    /**
+     * Store a local message at the sending vertex for its neighbors to read. Unlike {@link #sendMessage}, the sending
+     * vertex is not activated as the vertices that read the message are activated by the messenger.
+     */
+    public void sendLocalMessage(final Vertex vertex, final M message) {
+        this.storeMessage(vertex, message);
+    }
+
+    /**
+     * Flag the vertex as active in the next iteration. This is a no-op if the active vertices are not tracked.
+     */
+    public void activateVertex(final Vertex vertex) {
+        if (null != this.activeVertices) {
+            final int ordinal = this.getOrdinal(vertex);
+            if (-1 != ordinal)
+                this.activeVertices[ordinal] = true;
+        }
+    }
+
+    /**
+     * Get the edge step of the incident traversal of the local message scope if the incident traversal is a single
+     * edge step (e.g. {@code __.outE("knows")}). Thus, the incident traversal of a message scope is created only once
+     * per incident traversal supplier (which message scopes that only differ by their edge function may share) and the
+     * incident edges are then iterated directly (rather than with a traversal per message).
+     */
+    public Optional<VertexStep<Edge>> getIncidentStep(final MessageScope.Local<?> localMessageScope) {
+        return this.incidentSteps.computeIfAbsent(localMessageScope.getIncidentTraversal(), supplier -> {
+            final List<?> steps = localMessageScope.getIncidentTraversal().get().asAdmin().getSteps();
+            return 1 == steps.size() && steps.get(0) instanceof VertexStep && Edge.class.equals(((VertexStep) steps.get(0)).getReturnClass()) ?
+                    Optional.of((VertexStep<Edge>) steps.get(0)) :
+                    Optional.empty();
+        });
+    }
+
+    public boolean isTrackingActiveVertices() {
+        return null != this.activeVertices;
+    }
+
+    /**
+     * Get the ordinals of the vertices that were flagged as active in the last completed iteration.
+     *
+     * @return the ordinals of the active vertices or null if the active vertices are not tracked
+     */
+    public int[] getActiveVertices() {
+        return this.nextActiveVertices;
+    }
+
+    /**
+     * Get the messages that were sent to the vertex.
+     */
+    public Collection<M> receiveMessages(final Vertex vertex) {
+        final int ordinal = this.getOrdinal(vertex);
+        if (-1 == ordinal)
+            return Collections.emptyList();
+        final Collection<M> messages = this.receiveMessages.receive(ordinal);
+        if (!this.dirty)
+            return messages;
+        // a vertex is executed by a single worker, so its taken messages are not accessed concurrently
+        final Collection<M> sentMessages = this.sendMessages.take(ordinal);
+        List<M> takenMessages = this.takenMessages[ordinal];
+        if (!sentMessages.isEmpty()) {
+            if (null == takenMessages)
+                this.takenMessages[ordinal] = takenMessages = new ArrayList<>(sentMessages.size());
+            takenMessages.addAll(sentMessages);
+        }
+        if (null == takenMessages)
+            return messages;
+        else if (messages.isEmpty())
+            return Collections.unmodifiableList(takenMessages);
+        final List<M> allMessages = new ArrayList<>(messages);
+        allMessages.addAll(takenMessages);
+        return allMessages;
+    }
+
+    /**
+     * Get the latest messages that were stored at the vertex for its neighbors. If the messages are combined into an
+     * object (rather than into a primitive), the messages of the last iteration are returned along with the latest
+     * messages as the neighbors may not have read them yet (e.g. the traversers of a
+     * {@link com.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram} are sent to an adjacent vertex as a
+     * local message that the adjacent vertex reads exactly once).
+     */
+    public Collection<M> receiveLocalMessages(final Vertex vertex) {
+        final int ordinal = this.getOrdinal(vertex);
+        if (-1 == ordinal)
+            return Collections.emptyList();
+        if (this.dirty) {
+            final Collection<M> sentMessages = this.sendMessages.receive(ordinal);
+            if (!sentMessages.isEmpty()) {
+                if (!(this.sendMessages instanceof CombinedMessages))
+                    return sentMessages;
+                final Collection<M> messages = this.receiveMessages.receive(ordinal);
+                if (messages.isEmpty())
+                    return sentMessages;
+                final List<M> allMessages = new ArrayList<>(sentMessages);
+                allMessages.addAll(messages);
+                return allMessages;
+            }
+        }
+        return this.receiveMessages.receive(ordinal);
+    }
 
     public void completeIteration() {
+        // the workers have completed the iteration and thus, their buffers can be flushed
+        for (final Map<Integer, M> buffer : this.sendBuffers) {
+            buffer.forEach(this.sendMessages::send);
+            buffer.clear();
+        }
+        final Messages<M> temp = this.receiveMessages;
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        this.sendMessages = temp;
+        this.sendMessages.clear();
+        if (null != this.takenMessages)
+            Arrays.fill(this.takenMessages, null);
+        if (null != this.activeVertices) {
+            int size = 0;
+            for (int ordinal = 0; ordinal < this.activeVertices.length; ordinal++) {
+                if (this.activeVertices[ordinal])
+                    size++;
+            }
+            this.nextActiveVertices = new int[size];
+            size = 0;
+            for (int ordinal = 0; ordinal < this.activeVertices.length; ordinal++) {
+                if (this.activeVertices[ordinal]) {
+                    this.nextActiveVertices[size++] = ordinal;
+                    this.activeVertices[ordinal] = false;
+                }
+            }
+        }
+    }
+
+    private int storeMessage(final Vertex vertex, final M message) {
+        final int ordinal = this.getOrdinal(vertex);
+        if (-1 == ordinal)
+            throw new IllegalStateException("The vertex is not in the vertex set of the computation: " + vertex);
+        if (null != this.bufferCombiner) {
+            final Map<Integer, M> buffer = this.sendBuffer.get();
+            final M current = buffer.get(ordinal);
+            buffer.put(ordinal, null == current ? message : this.bufferCombiner.combine(current, message));
+        } else
+            this.sendMessages.send(ordinal, message);
+        return ordinal;
+    }
+
+    private int getOrdinal(final Vertex vertex) {
+        return TinkerHelper.getOrdinal(this.graph, vertex);
+    }
+
+    private static <M> Messages<M> createMessages(final int numberOfVertices, final Optional<MessageCombiner<M>> combiner) {
+        if (!combiner.isPresent())
+            return new QueueMessages<>(numberOfVertices);
+        else if (combiner.get() instanceof DoubleBinaryOperator)
+            return (Messages) new DoubleMessages(numberOfVertices, (DoubleBinaryOperator) combiner.get());
+        else if (combiner.get() instanceof LongBinaryOperator)
+            return (Messages) new LongMessages(numberOfVertices, (LongBinaryOperator) combiner.get());
+        else
+            return new CombinedMessages<>(numberOfVertices, combiner.get());
+    }
+
+    //////////////////////
+
+    private static abstract class Messages<M> {
+
+        public abstract void send(final int ordinal, final M message);
+
+        public abstract Collection<M> receive(final int ordinal);
+
+        /**
+         * Remove and return the messages of the ordinal. Messages sent concurrently are either returned or retained.
+         */
+        public abstract Collection<M> take(final int ordinal);
+
+        public abstract void clear();
+    }
+
+    /**
+     * Combining messages into a slot is guarded by a lock stripe as the {@link MessageCombiner} may mutate its first argument.
+     */
+    private static abstract class StripedMessages<M> extends Messages<M> {
+
+        private final Object[] locks = new Object[LOCK_STRIPES];
+
+        public StripedMessages() {
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                this.locks[i] = new Object();
+            }
+        }
+
+        protected final Object getLock(final int ordinal) {
+            return this.locks[ordinal & (LOCK_STRIPES - 1)];
+        }
+    }
+
+    private static final class QueueMessages<M> extends Messages<M> {
+
+        private final AtomicReferenceArray<Queue<M>> messages;
+
+        public QueueMessages(final int numberOfVertices) {
+            this.messages = new AtomicReferenceArray<>(numberOfVertices);
+        }
+
+        @Override
+        public void send(final int ordinal, final M message) {
+            Queue<M> queue = this.messages.get(ordinal);
+            if (null == queue) {
+                queue = new ConcurrentLinkedQueue<>();
+                if (!this.messages.compareAndSet(ordinal, null, queue))
+                    queue = this.messages.get(ordinal);
+            }
+            queue.add(message);
+        }
+
+        @Override
+        public Collection<M> receive(final int ordinal) {
+            final Queue<M> queue = this.messages.get(ordinal);
+            return null == queue ? Collections.emptyList() : queue;
+        }
+
+        @Override
+        public Collection<M> take(final int ordinal) {
+            final Queue<M> queue = this.messages.get(ordinal);
+            if (null == queue)
+                return Collections.emptyList();
+            final List<M> messages = new ArrayList<>();
+            M message;
+            while (null != (message = queue.poll())) {
+                messages.add(message);
+            }
+            return messages;
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < this.messages.length(); i++) {
+                this.messages.lazySet(i, null);
+            }
+        }
+    }
+
+    private static final class CombinedMessages<M> extends StripedMessages<M> {
+
+        private final MessageCombiner<M> combiner;
+        private final Object[] messages;
+
+        public CombinedMessages(final int numberOfVertices, final MessageCombiner<M> combiner) {
+            this.combiner = combiner;
+            this.messages = new Object[numberOfVertices];
+        }
+
+        @Override
+        public void send(final int ordinal, final M message) {
+            synchronized (this.getLock(ordinal)) {
+                final M current = (M) this.messages[ordinal];
+                this.messages[ordinal] = null == current ? message : this.combiner.combine(current, message);
+            }
+        }
+
+        @Override
+        public Collection<M> receive(final int ordinal) {
+            final M message = (M) this.messages[ordinal];
+            return null == message ? Collections.emptyList() : Collections.singletonList(message);
+        }
+
+        @Override
+        public Collection<M> take(final int ordinal) {
+            synchronized (this.getLock(ordinal)) {
+                final Collection<M> messages = this.receive(ordinal);
+                this.messages[ordinal] = null;
+                return messages;
+            }
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.messages, null);
+        }
+    }
+
+    private static final class DoubleMessages extends StripedMessages<Double> {
+
+        private final DoubleBinaryOperator combiner;
+        private final double[] messages;
+        private final boolean[] present;
+
+        public DoubleMessages(final int numberOfVertices, final DoubleBinaryOperator combiner) {
+            this.combiner = combiner;
+            this.messages = new double[numberOfVertices];
+            this.present = new boolean[numberOfVertices];
+        }
+
+        @Override
+        public void send(final int ordinal, final Double message) {
+            synchronized (this.getLock(ordinal)) {
+                if (this.present[ordinal])
+                    this.messages[ordinal] = this.combiner.applyAsDouble(this.messages[ordinal], message);
+                else {
+                    this.messages[ordinal] = message;
+                    this.present[ordinal] = true;
+                }
+            }
+        }
+
+        @Override
+        public Collection<Double> receive(final int ordinal) {
+            return this.present[ordinal] ? Collections.singletonList(this.messages[ordinal]) : Collections.emptyList();
+        }
+
+        @Override
+        public Collection<Double> take(final int ordinal) {
+            synchronized (this.getLock(ordinal)) {
+                final Collection<Double> messages = this.receive(ordinal);
+                this.present[ordinal] = false;
+                return messages;
+            }
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.present, false);
+        }
+    }
+
+    private static final class LongMessages extends StripedMessages<Long> {
+
+        private final LongBinaryOperator combiner;
+        private final long[] messages;
+        private final boolean[] present;
+
+        public LongMessages(final int numberOfVertices, final LongBinaryOperator combiner) {
+            this.combiner = combiner;
+            this.messages = new long[numberOfVertices];
+            this.present = new boolean[numberOfVertices];
+        }
+
+        @Override
+        public void send(final int ordinal, final Long message) {
+            synchronized (this.getLock(ordinal)) {
+                if (this.present[ordinal])
+                    this.messages[ordinal] = this.combiner.applyAsLong(this.messages[ordinal], message);
+                else {
+                    this.messages[ordinal] = message;
+                    this.present[ordinal] = true;
+                }
+            }
+        }
+
+        @Override
+        public Collection<Long> receive(final int ordinal) {
+            return this.present[ordinal] ? Collections.singletonList(this.messages[ordinal]) : Collections.emptyList();
+        }
+
+        @Override
+        public Collection<Long> take(final int ordinal) {
+            synchronized (this.getLock(ordinal)) {
+                final Collection<Long> messages = this.receive(ordinal);
+                this.present[ordinal] = false;
+                return messages;
+            }
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.present, false);
+        }
     }
 }
@@ -1,7 +1,6 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import com.tinkerpop.gremlin.process.Traversal;
-import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 import com.tinkerpop.gremlin.process.computer.MessageScope;
 import com.tinkerpop.gremlin.process.computer.Messenger;
 import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
@@ -13,9 +12,6 @@ import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.util.StreamFactory;
 
 import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -24,49 +20,59 @@ public class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
-    private final MessageCombiner<M> combiner;
 
-
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
-        this.combiner = combiner.isPresent() ? combiner.get() : null;
     }
 
     @Override
     public Iterable<M> receiveMessages(final MessageScope messageScope) {
         if (messageScope instanceof MessageScope.Local) {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
+            final Optional<VertexStep<Edge>> incidentStep = this.messageBoard.getIncidentStep(localMessageScope);
+            if (incidentStep.isPresent()) {
+                // the messages are read from the vertices at the other end of the reversed incident edges
+                final Direction direction = incidentStep.get().getDirection();
+                return StreamFactory.iterable(StreamFactory.stream(this.vertex.iterators().edgeIterator(direction.opposite(), incidentStep.get().getEdgeLabels()))
+                        .flatMap(e -> this.messageBoard.receiveLocalMessages(TinkerMessenger.getAdjacentVertex(e, direction, this.vertex)).stream()
+                                .map(message -> localMessageScope.getEdgeFunction().apply(message, e))));
+            }
             final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
             final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
             final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
             return StreamFactory.iterable(StreamFactory.stream(incidentTraversal.asAdmin().reverse())
-                    .map(e -> this.messageBoard.receiveMessages.get((edge[0] = e).iterators().vertexIterator(direction).next()))
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream())
+                    .map(e -> this.messageBoard.receiveLocalMessages(TinkerMessenger.getAdjacentVertex(edge[0] = e, direction, this.vertex)))
+                    .flatMap(messages -> messages.stream())
                     .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0])));
 
         } else {
-            return StreamFactory.iterable(Stream.of(this.vertex)
-                    .map(this.messageBoard.receiveMessages::get)
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream()));
+            return this.messageBoard.receiveMessages(this.vertex);
         }
     }
 
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message);
+            this.messageBoard.sendLocalMessage(this.vertex, message);
+            if (this.messageBoard.isTrackingActiveVertices()) {
+                // the message is stored at this vertex, so the vertices that will read it are activated
+                final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
+                final Optional<VertexStep<Edge>> incidentStep = this.messageBoard.getIncidentStep(localMessageScope);
+                if (incidentStep.isPresent()) {
+                    final Direction direction = incidentStep.get().getDirection();
+                    this.vertex.iterators().edgeIterator(direction, incidentStep.get().getEdgeLabels()).forEachRemaining(edge ->
+                            this.messageBoard.activateVertex(TinkerMessenger.getAdjacentVertex(edge, direction.opposite(), this.vertex)));
+                    return;
+                }
+                final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+                final Direction direction = TinkerMessenger.getDirection(incidentTraversal).opposite();
+                incidentTraversal.forEachRemaining(edge -> edge.iterators().vertexIterator(direction).forEachRemaining(this.messageBoard::activateVertex));
+            }
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message));
-        }
-    }
-
-    private final void addMessage(final Vertex vertex, final M message) {
-        final Queue<M> queue = this.messageBoard.sendMessages.computeIfAbsent(vertex, v -> new ConcurrentLinkedQueue<>());
-        synchronized (queue) {
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
+            for (final Vertex vertex : ((MessageScope.Global) messageScope).vertices()) {
+                this.messageBoard.sendMessage(vertex, message);
+            }
         }
     }
 
@@ -78,6 +84,14 @@ public class TinkerMessenger<M> implements Messenger<M> {
         return (T) traversal;
     }
 
+    // the sending vertex of the edge (which is the other vertex of the edge if the incident traversal is in both directions)
+    private static Vertex getAdjacentVertex(final Edge edge, final Direction direction, final Vertex vertex) {
+        if (!Direction.BOTH.equals(direction))
+            return edge.iterators().vertexIterator(direction).next();
+        final Vertex outVertex = edge.iterators().vertexIterator(Direction.OUT).next();
+        return vertex.equals(outVertex) ? edge.iterators().vertexIterator(Direction.IN).next() : outVertex;
+    }
+
     private static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection();
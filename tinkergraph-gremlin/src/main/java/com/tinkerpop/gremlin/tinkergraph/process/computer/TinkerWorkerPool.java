@@ -4,76 +4,241 @@ import com.tinkerpop.gremlin.process.computer.MapReduce;
 import com.tinkerpop.gremlin.process.computer.VertexProgram;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
+ * A {@link TinkerWorkerPool} maintains a fixed number of workers for the life of a {@link TinkerGraphComputer} job.
+ * The threads that execute the workers are created once and reused for every phase of every iteration of the
+ * {@link VertexProgram} as well as for every stage of every {@link MapReduce} job.
+ * When the workers process a collection of items (e.g. vertices), the collection is split into contiguous chunks
+ * of indices that are claimed by the workers via a single atomic cursor. As such, a fast worker continues to claim
+ * chunks while a slow worker is still processing its chunk and there is no lock contention per item.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class TinkerWorkerPool {
+public class TinkerWorkerPool implements AutoCloseable {
 
     public static enum State {VERTEX_PROGRAM, MAP_REDUCE}
 
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger(0);
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    private final int numberOfWorkers;
+    private final ExecutorService workerPool;
+    private final boolean closeWorkerPool;
+    private int chunkSize = 0;
+    private final long[] workerItems;
+    private final long[] workerTimes;
+
     private List<MapReduce> mapReducers;
     private List<VertexProgram> vertexPrograms;
     private State state;
 
-    public TinkerWorkerPool(final int numberOfWorkers, final VertexProgram vertexProgram) {
+    /**
+     * Create a worker pool whose threads are owned by the pool and are shutdown when the pool is closed.
+     *
+     * @param numberOfWorkers the number of workers (and threads) in the pool
+     */
+    public TinkerWorkerPool(final int numberOfWorkers) {
+        this(numberOfWorkers, Executors.newFixedThreadPool(numberOfWorkers, TinkerWorkerPool.createThreadFactory()), true);
+    }
+
+    /**
+     * Create a worker pool whose workers are executed by the provided {@link ExecutorService}.
+     * The executor is not shutdown when the pool is closed and thus, can be shared amongst many computers.
+     *
+     * @param numberOfWorkers the number of workers in the pool
+     * @param workerPool      the executor that will execute the workers
+     */
+    public TinkerWorkerPool(final int numberOfWorkers, final ExecutorService workerPool) {
+        this(numberOfWorkers, workerPool, false);
+    }
+
+    private TinkerWorkerPool(final int numberOfWorkers, final ExecutorService workerPool, final boolean closeWorkerPool) {
+        if (numberOfWorkers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + numberOfWorkers);
+        this.numberOfWorkers = numberOfWorkers;
+        this.workerPool = workerPool;
+        this.closeWorkerPool = closeWorkerPool;
+        this.workerItems = new long[numberOfWorkers];
+        this.workerTimes = new long[numberOfWorkers];
+    }
+
+    public int getNumberOfWorkers() {
+        return this.numberOfWorkers;
+    }
+
+    /**
+     * Set the number of contiguous items a worker claims at a time.
+     * If the chunk size is less than 1, the chunk size is determined by the number of items and workers.
+     *
+     * @param chunkSize the number of items in a chunk
+     */
+    public void setChunkSize(final int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Get the number of items each worker has processed via a partitioned execute.
+     *
+     * @return the number of items processed indexed by worker
+     */
+    public long[] getWorkerItems() {
+        return Arrays.copyOf(this.workerItems, this.numberOfWorkers);
+    }
+
+    /**
+     * Get the time (in nanoseconds) each worker has spent processing items via a partitioned execute.
+     *
+     * @return the processing time indexed by worker
+     */
+    public long[] getWorkerTimes() {
+        return Arrays.copyOf(this.workerTimes, this.numberOfWorkers);
+    }
+
+    public void setVertexProgram(final VertexProgram vertexProgram) {
         try {
-            this.state = State.VERTEX_PROGRAM;
-            this.vertexPrograms = new ArrayList<>(numberOfWorkers);
-            for (int i = 0; i < numberOfWorkers; i++) {
+            this.vertexPrograms = new ArrayList<>(this.numberOfWorkers);
+            for (int i = 0; i < this.numberOfWorkers; i++) {
                 this.vertexPrograms.add(vertexProgram.clone());
             }
+            this.mapReducers = null;
+            this.state = State.VERTEX_PROGRAM;
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
-    public TinkerWorkerPool(final int numberOfWorkers, final MapReduce mapReduce) {
+    public void setMapReduce(final MapReduce mapReduce) {
         try {
-            this.state = State.MAP_REDUCE;
-            this.mapReducers = new ArrayList<>(numberOfWorkers);
-            for (int i = 0; i < numberOfWorkers; i++) {
+            this.mapReducers = new ArrayList<>(this.numberOfWorkers);
+            for (int i = 0; i < this.numberOfWorkers; i++) {
                 this.mapReducers.add(mapReduce.clone());
             }
+            this.vertexPrograms = null;
+            this.state = State.MAP_REDUCE;
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
     public void executeVertexProgram(final Consumer<VertexProgram> worker) {
-        if (!this.state.equals(State.VERTEX_PROGRAM))
+        if (!State.VERTEX_PROGRAM.equals(this.state))
             throw new IllegalStateException("The provided TinkerWorkerPool is not setup for VertexProgram: " + this.state);
-        final CountDownLatch activeWorkers = new CountDownLatch(this.vertexPrograms.size());
-        for (final VertexProgram vertexProgram : this.vertexPrograms) {
-            new Thread(() -> {
-                worker.accept(vertexProgram);
-                activeWorkers.countDown();
-            }).start();
-        }
-        try {
-            activeWorkers.await();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
+        this.execute(this.vertexPrograms, worker);
+    }
+
+    /**
+     * Execute the worker on the items indexed 0 to size (exclusive). Each index is processed by exactly one worker.
+     *
+     * @param size   the number of items to process
+     * @param worker the worker function that is provided the worker's vertex program and the index of the item
+     */
+    public void executeVertexProgram(final int size, final ObjIntConsumer<VertexProgram> worker) {
+        if (!State.VERTEX_PROGRAM.equals(this.state))
+            throw new IllegalStateException("The provided TinkerWorkerPool is not setup for VertexProgram: " + this.state);
+        this.execute(this.vertexPrograms, size, worker);
     }
 
     public void executeMapReduce(final Consumer<MapReduce> worker) {
-        if (!this.state.equals(State.MAP_REDUCE))
+        if (!State.MAP_REDUCE.equals(this.state))
             throw new IllegalStateException("The provided TinkerWorkerPool is not setup for MapReduce: " + this.state);
-        final CountDownLatch activeWorkers = new CountDownLatch(this.mapReducers.size());
-        for (final MapReduce mapReduce : this.mapReducers) {
-            new Thread(() -> {
-                worker.accept(mapReduce);
-                activeWorkers.countDown();
-            }).start();
+        this.execute(this.mapReducers, worker);
+    }
+
+    /**
+     * Execute the worker on the items indexed 0 to size (exclusive). Each index is processed by exactly one worker.
+     *
+     * @param size   the number of items to process
+     * @param worker the worker function that is provided the worker's map reduce and the index of the item
+     */
+    public void executeMapReduce(final int size, final ObjIntConsumer<MapReduce> worker) {
+        if (!State.MAP_REDUCE.equals(this.state))
+            throw new IllegalStateException("The provided TinkerWorkerPool is not setup for MapReduce: " + this.state);
+        this.execute(this.mapReducers, size, worker);
+    }
+
+    @Override
+    public void close() {
+        if (this.closeWorkerPool)
+            this.workerPool.shutdownNow();
+    }
+
+    //////////////////////
+
+    private <P> void execute(final List<P> programs, final int size, final ObjIntConsumer<P> worker) {
+        final int chunkSize = this.chunkSize > 0 ?
+                this.chunkSize :
+                Math.max(1, Math.min(MAX_CHUNK_SIZE, size / (this.numberOfWorkers * CHUNKS_PER_WORKER)));
+        final AtomicInteger cursor = new AtomicInteger(0);
+        final List<Future<?>> futures = new ArrayList<>(programs.size());
+        for (int i = 0; i < programs.size(); i++) {
+            final int workerId = i;
+            final P program = programs.get(i);
+            futures.add(this.workerPool.submit(() -> {
+                final long time = System.nanoTime();
+                long items = 0l;
+                int start;
+                // the cursor is clamped to the size so that it does not overflow for large chunks (or many claims)
+                while ((start = cursor.getAndAccumulate(chunkSize, (current, delta) -> (int) Math.min(size, (long) current + delta))) < size) {
+                    final int end = (int) Math.min(size, (long) start + chunkSize);
+                    for (int index = start; index < end; index++) {
+                        worker.accept(program, index);
+                    }
+                    items = items + end - start;
+                }
+                this.workerItems[workerId] += items;
+                this.workerTimes[workerId] += System.nanoTime() - time;
+            }));
+        }
+        this.await(futures);
+    }
+
+    private <P> void execute(final List<P> programs, final Consumer<P> worker) {
+        final List<Future<?>> futures = new ArrayList<>(programs.size());
+        for (final P program : programs) {
+            futures.add(this.workerPool.submit(() -> worker.accept(program)));
         }
+        this.await(futures);
+    }
+
+    private void await(final List<Future<?>> futures) {
         try {
-            activeWorkers.await();
-        } catch (final Exception e) {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
             throw new IllegalStateException(e.getMessage(), e);
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            else if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            else
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
         }
     }
-}
\ No newline at end of file
+
+    private static ThreadFactory createThreadFactory() {
+        final int pool = POOL_COUNTER.incrementAndGet();
+        final AtomicInteger worker = new AtomicInteger(0);
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "tinker-worker-" + pool + "-" + worker.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
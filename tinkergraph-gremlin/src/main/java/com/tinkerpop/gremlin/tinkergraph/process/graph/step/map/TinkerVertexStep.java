@@ -0,0 +1,71 @@
+package com.tinkerpop.gremlin.tinkergraph.process.graph.step.map;
+
+import com.tinkerpop.gremlin.process.graph.marker.HasContainerBinding;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link VertexStep} to the outgoing edges of a vertex that looks up the edges in a vertex-centric index
+ * (see {@link com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph#createVertexCentricIndex}) when the
+ * has containers of the step can be answered by one. The edges are not filtered by the has containers as the
+ * has steps that they were taken from follow this step.
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerVertexStep extends VertexStep<Edge> implements HasContainerBinding {
+
+    public List<HasContainer> hasContainers = new ArrayList<>();
+
+    public TinkerVertexStep(final VertexStep<Edge> originalVertexStep) {
+        super(originalVertexStep.getTraversal(), Edge.class, originalVertexStep.getDirection(), originalVertexStep.getEdgeLabels());
+        if (originalVertexStep.getLabel().isPresent())
+            this.setLabel(originalVertexStep.getLabel().get());
+        this.setFunction(traverser -> this.edges(traverser.get()));
+    }
+
+    private Iterator<Edge> edges(final Vertex vertex) {
+        final Iterator<TinkerEdge> indexedEdges = Direction.OUT.equals(this.getDirection()) && vertex instanceof TinkerVertex ?
+                TinkerHelper.queryEdgeIndex((TinkerVertex) vertex, this.getEdgeLabels(), this.hasContainers) :
+                null;
+        if (null == indexedEdges)
+            return vertex.iterators().edgeIterator(this.getDirection(), this.getEdgeLabels());
+        final List<String> edgeLabels = Arrays.asList(this.getEdgeLabels());
+        return edgeLabels.isEmpty() ?
+                (Iterator) indexedEdges :
+                IteratorUtils.<Edge>filter((Iterator) indexedEdges, edge -> edgeLabels.contains(edge.label()));
+    }
+
+    @Override
+    public List<HasContainer> getBoundHasContainers() {
+        return this.hasContainers;
+    }
+
+    @Override
+    public TinkerVertexStep clone() throws CloneNotSupportedException {
+        final TinkerVertexStep clone = (TinkerVertexStep) super.clone();
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        this.hasContainers.forEach(hasContainer -> clone.hasContainers.add(hasContainer.clone()));
+        clone.setFunction(traverser -> clone.edges(traverser.get()));
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return this.hasContainers.isEmpty() ?
+                super.toString() :
+                TraversalHelper.makeStepString(this, this.getDirection(), Arrays.asList(this.getEdgeLabels()), this.getReturnClass().getSimpleName().toLowerCase(), this.hasContainers);
+    }
+}
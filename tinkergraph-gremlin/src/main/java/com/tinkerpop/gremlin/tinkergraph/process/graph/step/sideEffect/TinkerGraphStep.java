@@ -1,68 +1,59 @@
 package com.tinkerpop.gremlin.tinkergraph.process.graph.step.sideEffect;
 
+import com.tinkerpop.gremlin.process.graph.marker.HasContainerBinding;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
 import com.tinkerpop.gremlin.process.graph.util.HasContainer;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
-import com.tinkerpop.gremlin.structure.Compare;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class TinkerGraphStep<E extends Element> extends GraphStep<E> {
+public class TinkerGraphStep<E extends Element> extends GraphStep<E> implements HasContainerBinding {
 
-    public final List<HasContainer> hasContainers = new ArrayList<>();
+    public List<HasContainer> hasContainers = new ArrayList<>();
 
     public TinkerGraphStep(final GraphStep<E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getGraph(TinkerGraph.class), originalGraphStep.getReturnClass(), originalGraphStep.getIds());
         if (originalGraphStep.getLabel().isPresent())
             this.setLabel(originalGraphStep.getLabel().get());
-        this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges()));
+    }
+
+    @Override
+    protected Iterator<E> elements() {
+        return (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges());
     }
 
     private Iterator<? extends Edge> edges() {
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
-            return this.iteratorList(this.getGraph(TinkerGraph.class).iterators().edgeIterator(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(this.getGraph(TinkerGraph.class).iterators().edgeIterator()) :
-                    TinkerHelper.queryEdgeIndex(this.getGraph(TinkerGraph.class), indexedContainer.key, indexedContainer.value).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+            return this.filter(this.getGraph(TinkerGraph.class).iterators().edgeIterator(this.ids));
+        final Iterator<TinkerEdge> indexedEdges = TinkerHelper.queryEdgeIndex(this.getGraph(TinkerGraph.class), this.hasContainers);
+        return null == indexedEdges ?
+                this.filter(this.getGraph(TinkerGraph.class).iterators().edgeIterator()) :
+                this.filter(indexedEdges);
     }
 
     private Iterator<? extends Vertex> vertices() {
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
-            return this.iteratorList(this.getGraph(TinkerGraph.class).iterators().vertexIterator(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(this.getGraph(TinkerGraph.class).iterators().vertexIterator()) :
-                    TinkerHelper.queryVertexIndex(this.getGraph(TinkerGraph.class), indexedContainer.key, indexedContainer.value).stream()
-                            .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
-                            .collect(Collectors.<Vertex>toList()).iterator();
-    }
-
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = this.getGraph(TinkerGraph.class).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.key) && c.predicate.equals(Compare.eq))
-                .findAny()
-                .orElseGet(() -> null);
+            return this.filter(this.getGraph(TinkerGraph.class).iterators().vertexIterator(this.ids));
+        final Iterator<TinkerVertex> indexedVertices = TinkerHelper.queryVertexIndex(this.getGraph(TinkerGraph.class), this.hasContainers);
+        return null == indexedVertices ?
+                this.filter(this.getGraph(TinkerGraph.class).iterators().vertexIterator()) :
+                this.filter(indexedVertices);
     }
 
     public String toString() {
@@ -74,14 +65,28 @@ public class TinkerGraphStep<E extends Element> extends GraphStep<E> {
                     TraversalHelper.makeStepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
-    private final <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
-        final List<E> list = new ArrayList<>();
-        while (iterator.hasNext()) {
-            final E e = iterator.next();
-            if (HasContainer.testAll(e, this.hasContainers))
-                list.add(e);
-        }
-        return list.iterator();
+    @Override
+    public List<HasContainer> getBoundHasContainers() {
+        return this.hasContainers;
+    }
+
+    @Override
+    public TinkerGraphStep<E> clone() throws CloneNotSupportedException {
+        final TinkerGraphStep<E> clone = (TinkerGraphStep<E>) super.clone();
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        this.hasContainers.forEach(hasContainer -> clone.hasContainers.add(hasContainer.clone()));
+        return clone;
+    }
+
+    /**
+     * Lazily filter the elements by the has containers so that a following step (e.g. a range) can stop the iteration early.
+     * The elements of the graph and its indices are held in concurrent maps and thus, the iteration does not fail
+     * if the graph is mutated while it is underway.
+     */
+    private final <E extends Element> Iterator<E> filter(final Iterator<E> iterator) {
+        return this.hasContainers.isEmpty() ?
+                iterator :
+                IteratorUtils.filter(iterator, element -> HasContainer.testAll(element, this.hasContainers));
     }
 
 }
@@ -3,19 +3,28 @@ package com.tinkerpop.gremlin.tinkergraph.process.graph.strategy;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
 import com.tinkerpop.gremlin.process.graph.marker.HasContainerHolder;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
 import com.tinkerpop.gremlin.process.graph.strategy.AbstractTraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.ParallelStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.PathRetractionStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.StepFusionStrategy;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.step.sideEffect.TinkerGraphStep;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerGraphStepStrategy extends AbstractTraversalStrategy {
 
     private static final TinkerGraphStepStrategy INSTANCE = new TinkerGraphStepStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> POSTS = new HashSet<>(Arrays.asList(ParallelStrategy.class, PathRetractionStrategy.class, StepFusionStrategy.class));
 
     private TinkerGraphStepStrategy() {
     }
@@ -51,6 +60,11 @@ public class TinkerGraphStepStrategy extends AbstractTraversalStrategy {
         }
     }
 
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPost() {
+        return POSTS;
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
@@ -0,0 +1,80 @@
+package com.tinkerpop.gremlin.tinkergraph.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.marker.HasContainerHolder;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
+import com.tinkerpop.gremlin.process.graph.strategy.AbstractTraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.ParallelStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.PathRetractionStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.StepFusionStrategy;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.step.map.TinkerVertexStep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Replaces every step to the outgoing edges of a vertex that is followed by has steps with a {@link TinkerVertexStep}
+ * that is provided the has containers of those steps so that they can be looked up in a vertex-centric index.
+ * The has steps are retained as they may filter with a predicate other than their has containers (e.g. when the
+ * graph is wrapped by a {@link com.tinkerpop.gremlin.structure.strategy.GraphStrategy}).
+ *
+ * @author agent (agent@local)
+ */
+public class TinkerVertexStepStrategy extends AbstractTraversalStrategy {
+
+    private static final TinkerVertexStepStrategy INSTANCE = new TinkerVertexStepStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> POSTS = new HashSet<>(Arrays.asList(ParallelStrategy.class, PathRetractionStrategy.class, StepFusionStrategy.class));
+
+    private TinkerVertexStepStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER))
+            return;
+
+        // the start step is not replaced as starts may have already been added to it (e.g. a local traversal)
+        final List<VertexStep> vertexSteps = new ArrayList<>();
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step != traversal.getStartStep() &&
+                    step.getClass().equals(VertexStep.class) &&
+                    Edge.class.equals(((VertexStep) step).getReturnClass()) &&
+                    Direction.OUT.equals(((VertexStep) step).getDirection()))
+                vertexSteps.add((VertexStep) step);
+        }
+        for (final VertexStep<Edge> originalVertexStep : vertexSteps) {
+            final List<HasContainer> hasContainers = new ArrayList<>();
+            Step<?, ?> currentStep = originalVertexStep.getNextStep();
+            while (currentStep instanceof HasContainerHolder || currentStep instanceof IdentityStep) {
+                if (currentStep instanceof HasContainerHolder)
+                    hasContainers.addAll(((HasContainerHolder) currentStep).getHasContainers());
+                currentStep = currentStep.getNextStep();
+            }
+            if (!hasContainers.isEmpty()) {
+                final TinkerVertexStep tinkerVertexStep = new TinkerVertexStep(originalVertexStep);
+                tinkerVertexStep.hasContainers.addAll(hasContainers);
+                TraversalHelper.replaceStep(originalVertexStep, tinkerVertexStep, traversal);
+            }
+        }
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static TinkerVertexStepStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,276 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.util.iterator.ArrayIterator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link TinkerAdjacency} holds the edges of a {@link TinkerVertex} in one direction grouped by their label.
+ * The edges of hidden labels are never iterated.
+ *
+ * @author agent (agent@local)
+ */
+abstract class TinkerAdjacency {
+
+    public abstract void add(final String label, final Edge edge);
+
+    public abstract void remove(final String label, final Edge edge);
+
+    /**
+     * Get the edges of the labels (or of every label if no label is provided).
+     */
+    public abstract Iterator<Edge> iterator(final String... labels);
+
+    public static TinkerAdjacency create(final TinkerGraph graph) {
+        return TinkerGraph.AdjacencyType.COMPACT.equals(graph.adjacencyType) ?
+                new CompactAdjacency() :
+                new HashAdjacency(graph);
+    }
+
+    /**
+     * The {@link TinkerGraph.AdjacencyType#HASH} layout holds a set of edges per label. If the graph is concurrent,
+     * the sets are iterated directly. Otherwise, the edges are copied into an array on iteration so that the adjacency
+     * may be mutated while they are iterated.
+     */
+    static final class HashAdjacency extends TinkerAdjacency {
+
+        private final Map<String, Set<Edge>> edges;
+        private final TinkerGraph graph;
+
+        private HashAdjacency(final TinkerGraph graph) {
+            this.edges = TinkerHelper.createMap(graph);
+            this.graph = graph;
+        }
+
+        @Override
+        public void add(final String label, final Edge edge) {
+            this.edges.computeIfAbsent(label, k -> TinkerHelper.createSet(this.graph)).add(edge);
+        }
+
+        @Override
+        public void remove(final String label, final Edge edge) {
+            final Set<Edge> labelEdges = this.edges.get(label);
+            if (null != labelEdges)
+                labelEdges.remove(edge);
+        }
+
+        @Override
+        public Iterator<Edge> iterator(final String... labels) {
+            if (this.graph.concurrent)
+                return new EdgeIterator(labels);
+            int size = 0;
+            final EdgeIterator sizeIterator = new EdgeIterator(labels);
+            while (sizeIterator.nextEdges()) {
+                size = size + sizeIterator.labelEdges.size();
+            }
+            if (0 == size)
+                return Collections.emptyIterator();
+            final Edge[] edges = new Edge[size];
+            int index = 0;
+            final EdgeIterator copyIterator = new EdgeIterator(labels);
+            while (copyIterator.hasNext() && index < size) {
+                edges[index++] = copyIterator.next();
+            }
+            return index == size ? new ArrayIterator<>(edges) : new ArrayIterator<>(Arrays.copyOf(edges, index));
+        }
+
+        /**
+         * Iterates the sets of the labels (or of every label if no label is provided) without intermediate collections.
+         */
+        private final class EdgeIterator implements Iterator<Edge> {
+
+            private final String[] labels;
+            private final Iterator<Map.Entry<String, Set<Edge>>> entries;
+            private int nextLabel = 0;
+            private Set<Edge> labelEdges = Collections.emptySet();
+            private Iterator<Edge> iterator = Collections.emptyIterator();
+
+            private EdgeIterator(final String[] labels) {
+                this.labels = labels;
+                this.entries = 0 == labels.length ? HashAdjacency.this.edges.entrySet().iterator() : null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (!this.iterator.hasNext()) {
+                    if (!this.nextEdges())
+                        return false;
+                    this.iterator = this.labelEdges.iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public Edge next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                return this.iterator.next();
+            }
+
+            private boolean nextEdges() {
+                if (null != this.entries) {
+                    while (this.entries.hasNext()) {
+                        final Map.Entry<String, Set<Edge>> entry = this.entries.next();
+                        if (!Graph.Hidden.isHidden(entry.getKey())) {
+                            this.labelEdges = entry.getValue();
+                            return true;
+                        }
+                    }
+                } else {
+                    while (this.nextLabel < this.labels.length) {
+                        final String label = this.labels[this.nextLabel++];
+                        final Set<Edge> labelEdges = Graph.Hidden.isHidden(label) ? null : HashAdjacency.this.edges.get(label);
+                        if (null != labelEdges) {
+                            this.labelEdges = labelEdges;
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The {@link TinkerGraph.AdjacencyType#COMPACT} layout holds a growable array of edges per label.
+     * <p/>
+     * An edge is appended into the spare capacity of its array and an array is never otherwise mutated once it has
+     * been published: growing or removing from an array copies it. Thus, an iterator reads a snapshot of the arrays
+     * without copying the edges (or locking) and the adjacency may be mutated (by any thread) while it is iterated.
+     * An iterator may or may not return the edges that are appended while it is underway.
+     */
+    static final class CompactAdjacency extends TinkerAdjacency {
+
+        private static final Object[] EMPTY_ENTRIES = new Object[0];
+        private static final Edge[] EMPTY_EDGES = new Edge[0];
+        private static final int[] EMPTY_SIZES = new int[0];
+
+        // the label and edge array pairs (i.e. [label0, edges0, label1, edges1, ...]) where the edges of an array are followed by nulls
+        private volatile Object[] entries = EMPTY_ENTRIES;
+        // the number of edges in each array (only accessed by the writers)
+        private int[] sizes = EMPTY_SIZES;
+
+        @Override
+        public synchronized void add(final String label, final Edge edge) {
+            Object[] entries = this.entries;
+            int index = indexOf(entries, label);
+            if (-1 == index) {
+                index = entries.length / 2;
+                entries = Arrays.copyOf(entries, entries.length + 2);
+                entries[2 * index] = label;
+                entries[2 * index + 1] = EMPTY_EDGES;
+                this.sizes = Arrays.copyOf(this.sizes, index + 1);
+            }
+            Edge[] edges = (Edge[]) entries[2 * index + 1];
+            final int size = this.sizes[index];
+            if (size == edges.length) {
+                if (entries == this.entries)
+                    entries = entries.clone();
+                edges = Arrays.copyOf(edges, size + (size >> 1) + 1);
+                entries[2 * index + 1] = edges;
+            }
+            edges[size] = edge;
+            this.sizes[index] = size + 1;
+            // the volatile write publishes the appended edge to the iterators that are created hereafter
+            this.entries = entries;
+        }
+
+        @Override
+        public synchronized void remove(final String label, final Edge edge) {
+            final Object[] entries = this.entries;
+            final int index = indexOf(entries, label);
+            if (-1 == index)
+                return;
+            final Edge[] edges = (Edge[]) entries[2 * index + 1];
+            final int size = this.sizes[index];
+            for (int i = 0; i < size; i++) {
+                if (edges[i].equals(edge)) {
+                    if (1 == size) {
+                        final Object[] newEntries = new Object[entries.length - 2];
+                        System.arraycopy(entries, 0, newEntries, 0, 2 * index);
+                        System.arraycopy(entries, 2 * index + 2, newEntries, 2 * index, entries.length - 2 * index - 2);
+                        final int[] newSizes = new int[this.sizes.length - 1];
+                        System.arraycopy(this.sizes, 0, newSizes, 0, index);
+                        System.arraycopy(this.sizes, index + 1, newSizes, index, this.sizes.length - index - 1);
+                        this.sizes = newSizes;
+                        this.entries = newEntries;
+                    } else {
+                        final Edge[] newEdges = new Edge[size - 1];
+                        System.arraycopy(edges, 0, newEdges, 0, i);
+                        System.arraycopy(edges, i + 1, newEdges, i, size - i - 1);
+                        final Object[] newEntries = entries.clone();
+                        newEntries[2 * index + 1] = newEdges;
+                        this.sizes[index] = size - 1;
+                        this.entries = newEntries;
+                    }
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public Iterator<Edge> iterator(final String... labels) {
+            return new EdgeIterator(this.entries, labels);
+        }
+
+        private static int indexOf(final Object[] entries, final String label) {
+            for (int i = 0; i < entries.length; i = i + 2) {
+                if (entries[i].equals(label))
+                    return i / 2;
+            }
+            return -1;
+        }
+
+        private static final class EdgeIterator implements Iterator<Edge> {
+
+            private final Object[] entries;
+            private final String[] labels;
+            private int nextLabel = 0;
+            private Edge[] edges = EMPTY_EDGES;
+            private int position = 0;
+
+            private EdgeIterator(final Object[] entries, final String[] labels) {
+                this.entries = entries;
+                this.labels = labels;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (this.position >= this.edges.length || null == this.edges[this.position]) {
+                    if (!this.nextEdges())
+                        return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Edge next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                return this.edges[this.position++];
+            }
+
+            private boolean nextEdges() {
+                // without labels, the labels of the entries are iterated in their stead
+                final int numberOfLabels = 0 == this.labels.length ? this.entries.length / 2 : this.labels.length;
+                while (this.nextLabel < numberOfLabels) {
+                    final int index = 0 == this.labels.length ? this.nextLabel : indexOf(this.entries, this.labels[this.nextLabel]);
+                    this.nextLabel++;
+                    if (-1 != index && !Graph.Hidden.isHidden((String) this.entries[2 * index])) {
+                        this.edges = (Edge[]) this.entries[2 * index + 1];
+                        this.position = 0;
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+}
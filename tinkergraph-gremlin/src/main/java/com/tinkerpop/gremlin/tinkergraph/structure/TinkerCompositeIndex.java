@@ -0,0 +1,150 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link TinkerCompositeIndex} maps the values of multiple keys (in order) to the elements with those values.
+ * If the index has a label, only the elements with that label are indexed. A vertex-centric index is an edge index
+ * whose first value is the id of the out vertex of the edge. A vertex with multiple properties for a key is indexed
+ * by every combination of its values.
+ *
+ * @author agent (agent@local)
+ */
+class TinkerCompositeIndex<T extends Element> {
+
+    private final String label;
+    private final List<String> keys;
+    private final boolean vertexCentric;
+    private final Map<List<Object>, Set<T>> index = new ConcurrentHashMap<>();
+    private final Map<T, List<List<Object>>> elementValues = new ConcurrentHashMap<>();
+
+    public TinkerCompositeIndex(final String label, final List<String> keys, final boolean vertexCentric) {
+        this.label = label;
+        this.keys = keys;
+        this.vertexCentric = vertexCentric;
+    }
+
+    public String getLabel() {
+        return this.label;
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    public boolean isVertexCentric() {
+        return this.vertexCentric;
+    }
+
+    public boolean isIndexOf(final String label, final List<String> keys, final boolean vertexCentric) {
+        return (null == this.label ? null == label : this.label.equals(label)) && this.keys.equals(keys) && this.vertexCentric == vertexCentric;
+    }
+
+    /**
+     * Re-index the element given the current values of its keys.
+     */
+    public void update(final T element) {
+        this.remove(element);
+        if (null != this.label && !this.label.equals(element.label()))
+            return;
+        List<List<Object>> values = Collections.singletonList(this.vertexCentric ?
+                Collections.singletonList(((TinkerEdge) element).outVertex.id()) :
+                Collections.emptyList());
+        for (final String key : this.keys) {
+            final List<List<Object>> nextValues = new ArrayList<>();
+            final Iterator<? extends Property<Object>> properties = element.iterators().propertyIterator(key);
+            while (properties.hasNext()) {
+                final Object value = properties.next().value();
+                for (final List<Object> previous : values) {
+                    final List<Object> next = new ArrayList<>(previous);
+                    next.add(value);
+                    nextValues.add(next);
+                }
+            }
+            if (nextValues.isEmpty())
+                return;
+            values = nextValues;
+        }
+        for (final List<Object> value : values) {
+            this.index.compute(value, (k, elements) -> {
+                if (null == elements)
+                    elements = ConcurrentHashMap.newKeySet();
+                elements.add(element);
+                return elements;
+            });
+        }
+        this.elementValues.put(element, values);
+    }
+
+    public void remove(final T element) {
+        final List<List<Object>> values = this.elementValues.remove(element);
+        if (null != values) {
+            for (final List<Object> value : values) {
+                this.index.computeIfPresent(value, (k, elements) -> {
+                    elements.remove(element);
+                    return elements.isEmpty() ? null : elements;
+                });
+            }
+        }
+    }
+
+    public Iterator<T> iterator(final List<Object> values) {
+        final Set<T> elements = this.index.get(values);
+        return null == elements ? Collections.emptyIterator() : elements.iterator();
+    }
+
+    public long count(final List<Object> values) {
+        final Set<T> elements = this.index.get(values);
+        return null == elements ? 0 : elements.size();
+    }
+
+    /**
+     * Get the values of the index that are fixed by the equality has containers (and edge labels) of a lookup.
+     *
+     * @param outVertexId   the id of the out vertex for a vertex-centric lookup (else ignored)
+     * @param edgeLabels    the edge labels that the lookup is restricted to (if any)
+     * @param hasContainers the has containers of the lookup
+     * @return the values to lookup or null if the lookup can not be answered by the index
+     */
+    public List<Object> getValues(final Object outVertexId, final String[] edgeLabels, final List<HasContainer> hasContainers) {
+        if (null != this.label && !(edgeLabels.length == 1 && edgeLabels[0].equals(this.label)) &&
+                !hasContainers.stream().anyMatch(c -> c.key.equals(com.tinkerpop.gremlin.process.T.label.getAccessor()) && Compare.eq.equals(c.predicate) && this.label.equals(c.value)))
+            return null;
+        final List<Object> values = new ArrayList<>(this.keys.size() + 1);
+        if (this.vertexCentric)
+            values.add(outVertexId);
+        for (final String key : this.keys) {
+            final Object value = hasContainers.stream()
+                    .filter(c -> c.key.equals(key) && Compare.eq.equals(c.predicate) && null != c.value)
+                    .map(c -> c.value)
+                    .findFirst().orElse(null);
+            if (null == value)
+                return null;
+            values.add(value);
+        }
+        return values;
+    }
+
+    public void clear() {
+        this.index.clear();
+        this.elementValues.clear();
+    }
+
+    @Override
+    public String toString() {
+        return (this.vertexCentric ? Arrays.asList(Edge.class.getSimpleName().toLowerCase(), this.label, this.keys) : Arrays.asList(this.label, this.keys)).toString();
+    }
+}
@@ -12,7 +12,6 @@ import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -51,16 +50,10 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
+        if (null != outVertex && null != outVertex.outEdges)
+            outVertex.outEdges.remove(this.label(), this);
+        if (null != inVertex && null != inVertex.inEdges)
+            inVertex.inEdges.remove(this.label(), this);
 
         this.graph.edgeIndex.removeElement(this);
         this.graph.edges.remove(this.id());
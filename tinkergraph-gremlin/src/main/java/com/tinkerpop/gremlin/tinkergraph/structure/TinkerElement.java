@@ -5,7 +5,6 @@ import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -17,7 +16,7 @@ import java.util.stream.Collectors;
  */
 public abstract class TinkerElement implements Element, Element.Iterators {
 
-    protected Map<String, List<Property>> properties = new HashMap<>();
+    protected final Map<String, List<Property>> properties;
     protected final Object id;
     protected final String label;
     protected final TinkerGraph graph;
@@ -27,6 +26,7 @@ public abstract class TinkerElement implements Element, Element.Iterators {
         this.graph = graph;
         this.id = id;
         this.label = label;
+        this.properties = TinkerHelper.createMap(graph);
     }
 
     @Override
@@ -63,7 +63,8 @@ public abstract class TinkerElement implements Element, Element.Iterators {
             final List<Property> list = this.graph.graphView.getProperty(this, key);
             return list.size() == 0 ? Property.<V>empty() : list.get(0);
         } else {
-            return this.properties.containsKey(key) ? this.properties.get(key).get(0) : Property.<V>empty();
+            final List<Property> list = this.properties.get(key);
+            return null == list || list.isEmpty() ? Property.<V>empty() : list.get(0);
         }
     }
 
@@ -3,6 +3,8 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 import com.tinkerpop.gremlin.process.TraversalStrategies;
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
+import com.tinkerpop.gremlin.process.graph.GraphTraversal;
+import com.tinkerpop.gremlin.process.graph.strategy.ParallelStrategy;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
@@ -14,19 +16,40 @@ import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.strategy.TinkerElementStepStrategy;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.strategy.TinkerGraphStepStrategy;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.strategy.TinkerVertexStepStrategy;
 import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 /**
  * An in-sideEffects, reference implementation of the property graph interfaces provided by Gremlin3.
+ * <p/>
+ * By default, a {@link TinkerGraph} is meant to be written by a single thread. When opened with
+ * {@link #CONFIG_CONCURRENT} set to true, the graph uses concurrent structures for its elements, adjacency and
+ * properties and may be written by multiple threads while it is read by others. The guarantees of a concurrent graph are:
+ * <ul>
+ * <li>Every element addition and removal and every property write is atomic with respect to the structure it updates:
+ * the graph, its indices and its elements are never corrupted and no iteration fails with a
+ * {@link java.util.ConcurrentModificationException}.</li>
+ * <li>Generated ids are unique across threads and a user-supplied id is only ever assigned to one element.</li>
+ * <li>Reads are weakly consistent: an iteration (or traversal) reflects the state of the graph at some point at or
+ * since its creation and may or may not reflect the writes made while it is underway.</li>
+ * <li>Writes that span multiple structures (e.g. an edge and the adjacency of its vertices, or an element and its
+ * index entries) are not isolated from each other and concurrent writes to the same property of the same element
+ * are not ordered. There are no transactions.</li>
+ * </ul>
+ * When opened with {@link #CONFIG_PARALLEL} set to true, the {@link #V} and {@link #E} traversals of the graph are
+ * executed in parallel by the {@link ParallelStrategy} on a pool of {@link #CONFIG_PARALLELISM} threads.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -43,9 +66,9 @@ public class TinkerGraph implements Graph, Graph.Iterators {
 
     static {
         try {
-            TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(TinkerGraphStepStrategy.instance()));
-            TraversalStrategies.GlobalCache.registerStrategies(TinkerVertex.class, TraversalStrategies.GlobalCache.getStrategies(Vertex.class).clone().addStrategies(TinkerElementStepStrategy.instance()));
-            TraversalStrategies.GlobalCache.registerStrategies(TinkerEdge.class, TraversalStrategies.GlobalCache.getStrategies(Edge.class).clone().addStrategies(TinkerElementStepStrategy.instance()));
+            TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(TinkerGraphStepStrategy.instance(), TinkerVertexStepStrategy.instance()));
+            TraversalStrategies.GlobalCache.registerStrategies(TinkerVertex.class, TraversalStrategies.GlobalCache.getStrategies(Vertex.class).clone().addStrategies(TinkerElementStepStrategy.instance(), TinkerVertexStepStrategy.instance()));
+            TraversalStrategies.GlobalCache.registerStrategies(TinkerEdge.class, TraversalStrategies.GlobalCache.getStrategies(Edge.class).clone().addStrategies(TinkerElementStepStrategy.instance(), TinkerVertexStepStrategy.instance()));
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -55,9 +78,36 @@ public class TinkerGraph implements Graph, Graph.Iterators {
         this.setProperty(Graph.GRAPH, TinkerGraph.class.getName());
     }};
 
-    protected Long currentId = -1l;
-    protected Map<Object, Vertex> vertices = new HashMap<>();
-    protected Map<Object, Edge> edges = new HashMap<>();
+    /**
+     * The configuration key that determines if the graph can be written and read by multiple threads (false by default).
+     */
+    public static final String CONFIG_CONCURRENT = "gremlin.tinkergraph.concurrent";
+
+    /**
+     * The configuration key that determines the {@link AdjacencyType} of the vertices ({@link AdjacencyType#HASH} by default).
+     */
+    public static final String CONFIG_ADJACENCY = "gremlin.tinkergraph.adjacency";
+
+    /**
+     * The configuration key that determines if the {@link #V} and {@link #E} traversals are executed in parallel (false by default).
+     */
+    public static final String CONFIG_PARALLEL = "gremlin.tinkergraph.parallel";
+
+    /**
+     * The configuration key that determines the number of threads that execute the parallel traversals of the graph
+     * (0 by default, i.e. the traversals are executed on the common {@link ForkJoinPool}).
+     */
+    public static final String CONFIG_PARALLELISM = "gremlin.tinkergraph.parallelism";
+
+    protected final boolean concurrent;
+    protected final AdjacencyType adjacencyType;
+    protected final boolean parallel;
+    private final ForkJoinPool pool;
+    private final ParallelStrategy parallelStrategy;
+    private final Configuration configuration;
+    protected AtomicLong currentId = new AtomicLong(-1l);
+    protected Map<Object, Vertex> vertices;
+    protected Map<Object, Edge> edges;
     protected TinkerGraphVariables variables = new TinkerGraphVariables();
     protected TinkerGraphView graphView = null;
 
@@ -69,6 +119,27 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * used for purposes of serialization issues.
      */
     private TinkerGraph() {
+        this(false, AdjacencyType.HASH, false, 0);
+    }
+
+    private TinkerGraph(final boolean concurrent, final AdjacencyType adjacencyType, final boolean parallel, final int parallelism) {
+        this.concurrent = concurrent;
+        this.vertices = TinkerHelper.createMap(this);
+        this.edges = TinkerHelper.createMap(this);
+        this.adjacencyType = adjacencyType;
+        this.parallel = parallel;
+        this.pool = parallel && parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+        this.parallelStrategy = null == this.pool ? ParallelStrategy.instance() : ParallelStrategy.create(this.pool);
+        if (!concurrent && AdjacencyType.HASH.equals(adjacencyType) && !parallel) {
+            this.configuration = EMPTY_CONFIGURATION;
+        } else {
+            this.configuration = new BaseConfiguration();
+            this.configuration.setProperty(Graph.GRAPH, TinkerGraph.class.getName());
+            this.configuration.setProperty(CONFIG_CONCURRENT, concurrent);
+            this.configuration.setProperty(CONFIG_ADJACENCY, adjacencyType.name());
+            this.configuration.setProperty(CONFIG_PARALLEL, parallel);
+            this.configuration.setProperty(CONFIG_PARALLELISM, parallelism);
+        }
     }
 
     /**
@@ -95,11 +166,18 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * behind that facade and since {@link com.tinkerpop.gremlin.structure.util.GraphFactory} is the preferred method
      * to opening graphs it will be consistent at that level.
      *
-     * @param configuration the configuration for the instance
+     * @param configuration the configuration for the instance (see {@link #CONFIG_CONCURRENT}, {@link #CONFIG_ADJACENCY}, {@link #CONFIG_PARALLEL} and {@link #CONFIG_PARALLELISM})
      * @return a newly opened {@link com.tinkerpop.gremlin.structure.Graph}
      */
     public static TinkerGraph open(final Configuration configuration) {
-        return new TinkerGraph();
+        if (null == configuration)
+            return new TinkerGraph();
+        final String adjacencyType = configuration.getString(CONFIG_ADJACENCY, AdjacencyType.HASH.name());
+        try {
+            return new TinkerGraph(configuration.getBoolean(CONFIG_CONCURRENT, false), AdjacencyType.valueOf(adjacencyType.toUpperCase()), configuration.getBoolean(CONFIG_PARALLEL, false), configuration.getInt(CONFIG_PARALLELISM, 0));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("The adjacency type is not supported: " + adjacencyType, e);
+        }
     }
 
     ////////////// STRUCTURE API METHODS //////////////////
@@ -118,11 +196,37 @@ public class TinkerGraph implements Graph, Graph.Iterators {
         }
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+        if (null != this.vertices.putIfAbsent(vertex.id(), vertex))
+            throw Exceptions.vertexWithIdAlreadyExists(idValue);
         ElementHelper.attachProperties(vertex, keyValues);
         return vertex;
     }
 
+    @Override
+    public GraphTraversal<Vertex, Vertex> V(final Object... vertexIds) {
+        final GraphTraversal<Vertex, Vertex> traversal = Graph.super.V(vertexIds);
+        if (this.parallel)
+            traversal.asAdmin().setStrategies(this.getParallelStrategies());
+        return traversal;
+    }
+
+    @Override
+    public GraphTraversal<Edge, Edge> E(final Object... edgeIds) {
+        final GraphTraversal<Edge, Edge> traversal = Graph.super.E(edgeIds);
+        if (this.parallel)
+            traversal.asAdmin().setStrategies(this.getParallelStrategies());
+        return traversal;
+    }
+
+    // the strategies are derived per traversal so that strategies registered after the graph was opened are applied
+    private TraversalStrategies getParallelStrategies() {
+        try {
+            return TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).clone().addStrategies(this.parallelStrategy);
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public GraphComputer compute(final Class... graphComputerClass) {
         GraphComputerHelper.validateComputeArguments(graphComputerClass);
@@ -147,14 +251,15 @@ public class TinkerGraph implements Graph, Graph.Iterators {
         this.vertices.clear();
         this.edges.clear();
         this.variables = new TinkerGraphVariables();
-        this.currentId = 0l;
+        this.currentId.set(0l);
         this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
         this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
     }
 
     @Override
     public void close() {
-
+        if (null != this.pool)
+            this.pool.shutdown();
     }
 
     @Override
@@ -164,7 +269,7 @@ public class TinkerGraph implements Graph, Graph.Iterators {
 
     @Override
     public Configuration configuration() {
-        return EMPTY_CONFIGURATION;
+        return this.configuration;
     }
 
     @Override
@@ -175,23 +280,29 @@ public class TinkerGraph implements Graph, Graph.Iterators {
     @Override
     public Iterator<Vertex> vertexIterator(final Object... vertexIds) {
         if (0 == vertexIds.length) {
-            return this.vertices.values().iterator();
+            return this.scan(this.vertices);
         } else if (1 == vertexIds.length) {
-            final Vertex vertex = this.vertices.get(vertexIds[0]);
+            final Vertex vertex = null == vertexIds[0] ? null : this.vertices.get(vertexIds[0]);
             return null == vertex ? Collections.emptyIterator() : IteratorUtils.of(vertex);
         } else
-            return Stream.of(vertexIds).filter(this.vertices::containsKey).map(this.vertices::get).iterator();
+            return Stream.of(vertexIds).filter(id -> null != id && this.vertices.containsKey(id)).map(this.vertices::get).iterator();
     }
 
     @Override
     public Iterator<Edge> edgeIterator(final Object... edgeIds) {
         if (0 == edgeIds.length) {
-            return this.edges.values().iterator();
+            return this.scan(this.edges);
         } else if (1 == edgeIds.length) {
-            final Edge edge = this.edges.get(edgeIds[0]);
+            final Edge edge = null == edgeIds[0] ? null : this.edges.get(edgeIds[0]);
             return null == edge ? Collections.emptyIterator() : IteratorUtils.of(edge);
         } else
-            return Stream.of(edgeIds).filter(this.edges::containsKey).map(this.edges::get).iterator();
+            return Stream.of(edgeIds).filter(id -> null != id && this.edges.containsKey(id)).map(this.edges::get).iterator();
+    }
+
+    // the maps of a concurrent graph are iterated lazily (and weakly consistently) while the maps of a graph that is not
+    // concurrent are iterated over a copy of their values so that the graph can be mutated during the iteration
+    private <E extends Element> Iterator<E> scan(final Map<Object, E> elements) {
+        return this.concurrent ? elements.values().iterator() : new ArrayList<>(elements.values()).iterator();
     }
 
     /**
@@ -258,8 +369,26 @@ public class TinkerGraph implements Graph, Graph.Iterators {
         }
     }
 
+    /**
+     * The layout of the edges of a vertex. A {@link #HASH} adjacency holds a hash set of edges per label.
+     * A {@link #COMPACT} adjacency holds a growable array of edges per label that is iterated without copying the
+     * edges and requires a fraction of the heap of a {@link #HASH} adjacency, but whose edge removals are linear in
+     * the number of edges of the label.
+     */
+    public enum AdjacencyType {
+        HASH, COMPACT
+    }
+
     ///////////// GRAPH SPECIFIC INDEXING METHODS ///////////////
 
+    /**
+     * The type of an index. A {@link #HASH} index supports equality and within lookups. A {@link #SORTED} index
+     * additionally supports range lookups (i.e. {@code gt}, {@code gte}, {@code lt}, {@code lte}) over {@link Comparable} values.
+     */
+    public enum IndexType {
+        HASH, SORTED
+    }
+
     /**
      * Create an index for said element class ({@link Vertex} or {@link Edge}) and said property key.
      * Whenever an element has the specified key mutated, the index is updated.
@@ -270,10 +399,23 @@ public class TinkerGraph implements Graph, Graph.Iterators {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and said property key.
+     * If the key is already indexed with a hash index, a sorted index is added to it.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of the index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -296,6 +438,84 @@ public class TinkerGraph implements Graph, Graph.Iterators {
         }
     }
 
+    /**
+     * Return the type of the index of said element class ({@link Vertex} or {@link Edge}) and property key.
+     *
+     * @param key          the property key of the index
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of the index or null if the key is not indexed
+     */
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the values of said property keys.
+     * If a label is provided, only the elements with that label are indexed. The index is used by a lookup that has an
+     * equality condition for every key of the index (and for the label of the index if it has one).
+     *
+     * @param elementClass the element class to index
+     * @param label        the label of the elements to index or null to index the elements of every label
+     * @param keys         the property keys to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final Class<E> elementClass, final String label, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.createCompositeIndex(label, Arrays.asList(keys), false);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.createCompositeIndex(label, Arrays.asList(keys), false);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}), label and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param label        the label of the index to drop (null if the index is not label-scoped)
+     * @param keys         the property keys of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropIndex(final Class<E> elementClass, final String label, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.dropCompositeIndex(label, Arrays.asList(keys), false);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.dropCompositeIndex(label, Arrays.asList(keys), false);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a vertex-centric index that indexes the edges of said label by their out vertex and the values of said
+     * property keys. The index is used by a traversal from a vertex to its outgoing edges (e.g. {@code v.outE(label).has(key, value)})
+     * that has an equality condition for every key of the index.
+     *
+     * @param label the label of the edges to index or null to index the edges of every label
+     * @param keys  the property keys to index
+     */
+    public void createVertexCentricIndex(final String label, final String... keys) {
+        this.edgeIndex.createCompositeIndex(label, Arrays.asList(keys), true);
+    }
+
+    /**
+     * Drop the vertex-centric index for the specified label and keys.
+     *
+     * @param label the label of the index to drop (null if the index is not label-scoped)
+     * @param keys  the property keys of the index to drop
+     */
+    public void dropVertexCentricIndex(final String label, final String... keys) {
+        this.edgeIndex.dropCompositeIndex(label, Arrays.asList(keys), true);
+    }
+
     /**
      * Return all the keys currently being index for said element class  ({@link Vertex} or {@link Edge}).
      *
@@ -1,29 +1,60 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.wrapped.WrappedVertex;
 import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
-import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerHelper {
 
-    protected final synchronized static long getNextId(final TinkerGraph graph) {
-        return Stream.generate(() -> (++graph.currentId)).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findAny().get();
+    protected final static long getNextId(final TinkerGraph graph) {
+        long id;
+        do {
+            id = graph.currentId.incrementAndGet();
+        } while (graph.vertices.containsKey(id) || graph.edges.containsKey(id));
+        return id;
+    }
+
+    /**
+     * Create a map for the structure of an element that is concurrent if the graph is concurrent.
+     */
+    protected static <K, V> Map<K, V> createMap(final TinkerGraph graph) {
+        return graph.concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Create a set for the structure of an element that is concurrent if the graph is concurrent.
+     */
+    protected static <E> Set<E> createSet(final TinkerGraph graph) {
+        return graph.concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+    }
+
+    /**
+     * Create a list for the structure of an element that is concurrent (copy-on-write) if the graph is concurrent.
+     */
+    protected static <E> List<E> createList(final TinkerGraph graph) {
+        return graph.concurrent ? new CopyOnWriteArrayList<>() : new ArrayList<>();
     }
 
     protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
@@ -41,8 +72,10 @@ public class TinkerHelper {
         }
 
         edge = new TinkerEdge(idValue, outVertex, label, inVertex, graph);
+        // the id is claimed before the properties are indexed as an edge that loses the claim must not be indexed
+        if (null != graph.edges.putIfAbsent(edge.id(), edge))
+            throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
         ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
         return edge;
@@ -50,21 +83,11 @@ public class TinkerHelper {
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        Set<Edge> edges = vertex.outEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.outEdges.put(label, edges);
-        }
-        edges.add(edge);
+        vertex.outEdges.add(label, edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        Set<Edge> edges = vertex.inEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.inEdges.put(label, edges);
-        }
-        edges.add(edge);
+        vertex.inEdges.add(label, edge);
     }
 
     public static void dropView(final TinkerGraph graph) {
@@ -79,12 +102,64 @@ public class TinkerHelper {
         return graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Query the vertex index with the most selective lookup that can be made for the has containers.
+     *
+     * @return the vertices of the lookup (not filtered by the has containers) or null if no index lookup can be made
+     */
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return graph.vertexIndex.get(hasContainers);
+    }
+
+    /**
+     * Query the edge index with the most selective lookup that can be made for the has containers.
+     *
+     * @return the edges of the lookup (not filtered by the has containers) or null if no index lookup can be made
+     */
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return graph.edgeIndex.get(hasContainers);
+    }
+
+    /**
+     * Query the vertex-centric indices of the edge index for the outgoing edges of the vertex.
+     *
+     * @return the edges of the lookup (not filtered by the edge labels or has containers) or null if no index lookup can be made
+     */
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerVertex vertex, final String[] edgeLabels, final List<HasContainer> hasContainers) {
+        return vertex.graph.edgeIndex.get(vertex, edgeLabels, hasContainers);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphView;
     }
 
+    /**
+     * Create a {@link TinkerGraphView} of the graph for a {@link com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer} job.
+     * Every vertex in the graph is assigned a dense ordinal (0 to the number of vertices, exclusive) in the order of
+     * the graph's vertex iterator. The ordinals remain valid until a new view is created.
+     */
     public static TinkerGraphView createGraphView(final TinkerGraph graph, final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
-        return graph.graphView = new TinkerGraphView(isolation, computeKeys);
+        int ordinal = 0;
+        for (final Vertex vertex : graph.vertices.values()) {
+            ((TinkerVertex) vertex).ordinal = ordinal++;
+        }
+        return graph.graphView = new TinkerGraphView(isolation, computeKeys, ordinal);
+    }
+
+    /**
+     * Get the ordinal assigned to the vertex by the last {@link TinkerHelper#createGraphView}.
+     * Wrapped vertices are unwrapped and non-{@link TinkerVertex} vertices are resolved by id.
+     *
+     * @return the ordinal of the vertex or -1 if the vertex has no ordinal
+     */
+    public static int getOrdinal(final TinkerGraph graph, final Vertex vertex) {
+        Vertex baseVertex = vertex;
+        while (baseVertex instanceof WrappedVertex) {
+            baseVertex = ((WrappedVertex<Vertex>) baseVertex).getBaseVertex();
+        }
+        if (!(baseVertex instanceof TinkerVertex) || ((TinkerVertex) baseVertex).graph != graph)
+            baseVertex = graph.vertices.get(baseVertex.id());
+        return null == baseVertex ? -1 : ((TinkerVertex) baseVertex).ordinal;
     }
 
     public static Map<String, List<Property>> getProperties(final TinkerElement element) {
@@ -92,23 +167,50 @@ public class TinkerHelper {
     }
 
     public static final Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
-        Stream<Edge> edgeStream = null;
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
-            edgeStream = (edgeLabels.length == 0 ? vertex.outEdges.keySet().stream() : Stream.of(edgeLabels)).filter(label -> !Graph.Hidden.isHidden(label)).map(vertex.outEdges::get).filter(edges -> null != edges).flatMap(list -> list.stream());
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
-            edgeStream = Stream.concat(null == edgeStream ? Stream.empty() : edgeStream, (edgeLabels.length == 0 ? vertex.inEdges.keySet().stream() : Stream.of(edgeLabels)).filter(label -> !Graph.Hidden.isHidden(label)).map(vertex.inEdges::get).filter(edges -> null != edges).flatMap(list -> list.stream()));
-        return (Iterator) edgeStream.collect(Collectors.toList()).iterator();
-
-
+        if (direction.equals(Direction.OUT))
+            return (Iterator) vertex.outEdges.iterator(edgeLabels);
+        else if (direction.equals(Direction.IN))
+            return (Iterator) vertex.inEdges.iterator(edgeLabels);
+        else
+            return new AdjacentIterator<>(vertex.outEdges.iterator(edgeLabels), vertex.inEdges.iterator(edgeLabels), false);
     }
 
     public static final Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
-        if (direction != Direction.BOTH) {
-            return IteratorUtils.map(TinkerHelper.getEdges(vertex, direction, edgeLabels), direction.equals(Direction.IN) ? edge -> (TinkerVertex) edge.outVertex : edge -> (TinkerVertex) edge.inVertex);
-        } else {
-            return IteratorUtils.<TinkerVertex>concat(
-                    IteratorUtils.map(TinkerHelper.getEdges(vertex, Direction.OUT, edgeLabels), edge -> (TinkerVertex) edge.inVertex),
-                    IteratorUtils.map(TinkerHelper.getEdges(vertex, Direction.IN, edgeLabels), edge -> (TinkerVertex) edge.outVertex));
+        return new AdjacentIterator<>(
+                direction.equals(Direction.IN) ? Collections.<Edge>emptyIterator() : vertex.outEdges.iterator(edgeLabels),
+                direction.equals(Direction.OUT) ? Collections.<Edge>emptyIterator() : vertex.inEdges.iterator(edgeLabels),
+                true);
+    }
+
+    /**
+     * Iterates the outgoing and then the incoming edges of a vertex (or the vertices adjacent to it by those edges).
+     */
+    private static final class AdjacentIterator<E extends Element> implements Iterator<E> {
+
+        private final Iterator<Edge> outEdges;
+        private final Iterator<Edge> inEdges;
+        private final boolean vertices;
+
+        private AdjacentIterator(final Iterator<Edge> outEdges, final Iterator<Edge> inEdges, final boolean vertices) {
+            this.outEdges = outEdges;
+            this.inEdges = inEdges;
+            this.vertices = vertices;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.outEdges.hasNext() || this.inEdges.hasNext();
+        }
+
+        @Override
+        public E next() {
+            if (this.outEdges.hasNext()) {
+                final TinkerEdge edge = (TinkerEdge) this.outEdges.next();
+                return (E) (this.vertices ? edge.inVertex : edge);
+            } else {
+                final TinkerEdge edge = (TinkerEdge) this.inEdges.next();
+                return (E) (this.vertices ? edge.outVertex : edge);
+            }
         }
     }
 }
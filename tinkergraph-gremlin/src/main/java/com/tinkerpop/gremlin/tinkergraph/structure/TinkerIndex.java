@@ -1,26 +1,67 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
+import com.tinkerpop.gremlin.process.graph.util.HasContainer;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.Comparators;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
+ * A {@link TinkerIndex} maps the values of the indexed keys to the elements with those values.
+ * Every indexed key has a hash index. A key with a {@link TinkerGraph.IndexType#SORTED} index also has a navigable
+ * index over its {@link Comparable} values that shares the element sets of the hash index. The sorted index orders
+ * numbers by their value regardless of their class (as {@link Compare} does) and all other values by their class and
+ * then by their natural order. Thus, a range lookup only yields numbers for numeric bounds and otherwise only values
+ * of the same class as its bounds. The values that are of the same order and yet not equal (e.g. {@code 1} and
+ * {@code 1L}, or the {@code BigDecimal}s {@code 1.0} and {@code 1.00}) are distinct keys of the sorted index.
+ * <p/>
+ * A {@link TinkerCompositeIndex} indexes the values of multiple keys (optionally scoped to a label) and is updated
+ * whenever one of its keys is updated.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerIndex<T extends Element> {
 
+    // the values of the same order are ordered by their class (and scale) so that the order is consistent with equals
+    private static final Comparator<Object> SORTED_ORDER = (a, b) -> {
+        if (a instanceof Bound || b instanceof Bound) {
+            final int comparison = TinkerIndex.compareOrder(Bound.valueOf(a), Bound.valueOf(b));
+            return 0 != comparison ? comparison : Integer.compare(Bound.offsetOf(a), Bound.offsetOf(b));
+        }
+        final int comparison = TinkerIndex.compareOrder(a, b);
+        if (0 != comparison || a.equals(b))
+            return comparison;
+        else if (!a.getClass().equals(b.getClass()))
+            return a.getClass().getName().compareTo(b.getClass().getName());
+        else
+            return a instanceof BigDecimal ? Integer.compare(((BigDecimal) a).scale(), ((BigDecimal) b).scale()) : 0;
+    };
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<String, NavigableMap<Object, Set<T>>> sortedIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final List<TinkerCompositeIndex<T>> compositeIndices = new CopyOnWriteArrayList<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -29,18 +70,17 @@ class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
-        }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
-        }
-        objects.add(element);
-
+        // the set of a value is created, added to and removed from atomically so concurrent writers never lose an element
+        this.index.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).compute(value, (v, objects) -> {
+            if (null == objects) {
+                objects = ConcurrentHashMap.newKeySet();
+                final NavigableMap<Object, Set<T>> sortedKeyMap = this.sortedIndex.get(key);
+                if (null != sortedKeyMap && value instanceof Comparable)
+                    sortedKeyMap.putIfAbsent(value, objects);
+            }
+            objects.add(element);
+            return objects;
+        });
     }
 
     public List<T> get(final String key, final Object value) {
@@ -56,6 +96,138 @@ class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Get a lazy iterator over the elements with the value for the key.
+     */
+    public Iterator<T> iterator(final String key, final Object value) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyIterator();
+        final Set<T> set = keyMap.get(value);
+        return null == set ? Collections.emptyIterator() : set.iterator();
+    }
+
+    /**
+     * Get a lazy iterator over the elements whose value for the key is between the two values. A null value denotes an unbounded range.
+     *
+     * @return the elements in the range or null if the key does not have a sorted index or the range can not be looked up
+     */
+    public Iterator<T> iterator(final String key, final Object fromValue, final boolean fromInclusive, final Object toValue, final boolean toInclusive) {
+        final Collection<Set<T>> sets = this.getRange(key, fromValue, fromInclusive, toValue, toInclusive);
+        return null == sets ? null : IteratorUtils.flatMap(sets.iterator(), Set::iterator);
+    }
+
+    public long count(final String key, final Object fromValue, final boolean fromInclusive, final Object toValue, final boolean toInclusive) {
+        final Collection<Set<T>> sets = this.getRange(key, fromValue, fromInclusive, toValue, toInclusive);
+        if (null == sets)
+            return -1;
+        long count = 0;
+        for (final Set<T> set : sets) {
+            count = count + set.size();
+        }
+        return count;
+    }
+
+    /**
+     * Get the elements of the most selective index lookup that can be made for the has containers.
+     * The elements are not filtered by the has containers. An equality or within has container can be looked up
+     * in any index and the range has containers of a key can be looked up in a sorted index.
+     * <p/>
+     * The elements are iterated lazily from the sets of the index. The sets are concurrent and thus, an element that
+     * is added to or removed from the index during the iteration may or may not be returned.
+     *
+     * @return the elements of the lookup or null if no has container can be looked up in the index
+     */
+    public Iterator<T> get(final List<HasContainer> hasContainers) {
+        long bestCount = Long.MAX_VALUE;
+        Supplier<Iterator<T>> bestLookup = null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!this.indexedKeys.contains(hasContainer.key) || null == hasContainer.value)
+                continue;
+            final String key = hasContainer.key;
+            if (Compare.eq.equals(hasContainer.predicate)) {
+                final long count = this.count(key, hasContainer.value);
+                if (count < bestCount) {
+                    bestCount = count;
+                    bestLookup = () -> this.iterator(key, hasContainer.value);
+                }
+            } else if (Contains.within.equals(hasContainer.predicate) && hasContainer.value instanceof Collection) {
+                long count = 0;
+                for (final Object value : (Collection) hasContainer.value) {
+                    count = count + this.count(key, value);
+                }
+                if (count < bestCount) {
+                    bestCount = count;
+                    bestLookup = () -> {
+                        // a vertex with multiple properties for the key may be in the sets of multiple values
+                        final Set<T> elements = new HashSet<>();
+                        return IteratorUtils.filter(IteratorUtils.flatMap(((Collection<Object>) hasContainer.value).iterator(), value -> this.iterator(key, value)), elements::add);
+                    };
+                }
+            }
+        }
+        for (final String key : this.sortedIndex.keySet()) {
+            HasContainer from = null;
+            HasContainer to = null;
+            for (final HasContainer hasContainer : hasContainers) {
+                if (!key.equals(hasContainer.key) || null == hasContainer.value)
+                    continue;
+                if (null == from && (Compare.gt.equals(hasContainer.predicate) || Compare.gte.equals(hasContainer.predicate)))
+                    from = hasContainer;
+                else if (null == to && (Compare.lt.equals(hasContainer.predicate) || Compare.lte.equals(hasContainer.predicate)))
+                    to = hasContainer;
+            }
+            if (null == from && null == to)
+                continue;
+            final Object fromValue = null == from ? null : from.value;
+            final boolean fromInclusive = null != from && Compare.gte.equals(from.predicate);
+            final Object toValue = null == to ? null : to.value;
+            final boolean toInclusive = null != to && Compare.lte.equals(to.predicate);
+            final long count = this.count(key, fromValue, fromInclusive, toValue, toInclusive);
+            if (count >= 0 && count < bestCount) {
+                bestCount = count;
+                bestLookup = () -> this.iterator(key, fromValue, fromInclusive, toValue, toInclusive);
+            }
+        }
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            if (compositeIndex.isVertexCentric())
+                continue;
+            final List<Object> values = compositeIndex.getValues(null, new String[0], hasContainers);
+            if (null == values)
+                continue;
+            final long count = compositeIndex.count(values);
+            if (count < bestCount) {
+                bestCount = count;
+                bestLookup = () -> compositeIndex.iterator(values);
+            }
+        }
+        return null == bestLookup ? null : bestLookup.get();
+    }
+
+    /**
+     * Get the edges of the out vertex from the most selective vertex-centric index that can be looked up for
+     * the edge labels and has containers. The edges are not filtered by the edge labels or has containers.
+     *
+     * @return the edges of the lookup or null if no vertex-centric index can be looked up
+     */
+    public Iterator<T> get(final Vertex outVertex, final String[] edgeLabels, final List<HasContainer> hasContainers) {
+        long bestCount = Long.MAX_VALUE;
+        Supplier<Iterator<T>> bestLookup = null;
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            if (!compositeIndex.isVertexCentric())
+                continue;
+            final List<Object> values = compositeIndex.getValues(outVertex.id(), edgeLabels, hasContainers);
+            if (null == values)
+                continue;
+            final long count = compositeIndex.count(values);
+            if (count < bestCount) {
+                bestCount = count;
+                bestLookup = () -> compositeIndex.iterator(values);
+            }
+        }
+        return null == bestLookup ? null : bestLookup.get();
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -70,15 +242,23 @@ class TinkerIndex<T extends Element> {
     }
 
     public void remove(final String key, final Object value, final T element) {
+        this.removeValue(key, value, element);
+        this.updateCompositeIndices(key, element);
+    }
+
+    private void removeValue(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
+            keyMap.computeIfPresent(value, (v, objects) -> {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    final NavigableMap<Object, Set<T>> sortedKeyMap = this.sortedIndex.get(key);
+                    if (null != sortedKeyMap && value instanceof Comparable)
+                        sortedKeyMap.remove(value, objects);
+                    return null;
                 }
-            }
+                return objects;
+            });
         }
     }
 
@@ -89,27 +269,80 @@ class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            this.compositeIndices.forEach(compositeIndex -> compositeIndex.remove(element));
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
             if (oldValue != null)
-                this.remove(key, oldValue, element);
+                this.removeValue(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateCompositeIndices(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
-            this.remove(key, oldValue, element);
+            this.removeValue(key, oldValue, element);
+        this.updateCompositeIndices(key, element);
     }
 
-    public void createKeyIndex(final String key) {
+    private void updateCompositeIndices(final String key, final T element) {
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            if (compositeIndex.getKeys().contains(key))
+                compositeIndex.update(element);
+        }
+    }
+
+    public void createCompositeIndex(final String label, final List<String> keys, final boolean vertexCentric) {
+        if (null == keys || keys.isEmpty())
+            throw new IllegalArgumentException("The keys of a composite index cannot be empty");
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (null != label && label.isEmpty())
+            throw new IllegalArgumentException("The label for the index cannot be an empty string");
+        if (this.compositeIndices.stream().anyMatch(compositeIndex -> compositeIndex.isIndexOf(label, keys, vertexCentric)))
+            return;
+
+        final TinkerCompositeIndex<T> compositeIndex = new TinkerCompositeIndex<>(label, new ArrayList<>(keys), vertexCentric);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> compositeIndex.update((T) e));
+        this.compositeIndices.add(compositeIndex);
+    }
+
+    public void dropCompositeIndex(final String label, final List<String> keys, final boolean vertexCentric) {
+        this.compositeIndices.stream()
+                .filter(compositeIndex -> compositeIndex.isIndexOf(label, keys, vertexCentric))
+                .findAny()
+                .ifPresent(compositeIndex -> {
+                    this.compositeIndices.remove(compositeIndex);
+                    compositeIndex.clear();
+                });
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
+
+        if (TinkerGraph.IndexType.SORTED.equals(indexType) && !this.sortedIndex.containsKey(key)) {
+            final NavigableMap<Object, Set<T>> sortedKeyMap = new ConcurrentSkipListMap<>(SORTED_ORDER);
+            this.index.getOrDefault(key, Collections.emptyMap()).forEach((value, objects) -> {
+                if (value instanceof Comparable)
+                    sortedKeyMap.put(value, objects);
+            });
+            this.sortedIndex.put(key, sortedKeyMap);
+        }
 
         if (this.indexedKeys.contains(key))
             return;
@@ -126,6 +359,7 @@ class TinkerIndex<T extends Element> {
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        this.sortedIndex.remove(key);
 
         this.indexedKeys.remove(key);
     }
@@ -133,4 +367,79 @@ class TinkerIndex<T extends Element> {
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        if (!this.indexedKeys.contains(key))
+            return null;
+        return this.sortedIndex.containsKey(key) ? TinkerGraph.IndexType.SORTED : TinkerGraph.IndexType.HASH;
+    }
+
+    private Collection<Set<T>> getRange(final String key, final Object fromValue, final boolean fromInclusive, final Object toValue, final boolean toInclusive) {
+        final NavigableMap<Object, Set<T>> sortedKeyMap = this.sortedIndex.get(key);
+        if (null == sortedKeyMap || (null == fromValue && null == toValue))
+            return null;
+        if ((null != fromValue && !(fromValue instanceof Comparable)) || (null != toValue && !(toValue instanceof Comparable)))
+            return null;
+        // the bounds are ordered before (or after) all the values of the same order (e.g. 1L for a bound of 1)
+        final Bound from = null == fromValue ? null : new Bound(fromValue, !fromInclusive);
+        final Bound to = null == toValue ? null : new Bound(toValue, toInclusive);
+        if (null != from && null != to) {
+            if (!TinkerIndex.getOrderClass(fromValue).equals(TinkerIndex.getOrderClass(toValue)))
+                return null;
+            final int comparison = TinkerIndex.compareOrder(fromValue, toValue);
+            return comparison > 0 || (comparison == 0 && !(fromInclusive && toInclusive)) ?
+                    Collections.emptyList() :
+                    sortedKeyMap.subMap(from, true, to, true).values();
+        }
+        // a half-open range is bounded by the values of the same order class as the bound (e.g. the numbers)
+        final Class<?> orderClass = TinkerIndex.getOrderClass(null == from ? toValue : fromValue);
+        final NavigableMap<Object, Set<T>> range = null == from ?
+                sortedKeyMap.headMap(to, true).descendingMap() :
+                sortedKeyMap.tailMap(from, true);
+        final List<Set<T>> sets = new ArrayList<>();
+        for (final Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+            if (!orderClass.equals(TinkerIndex.getOrderClass(entry.getKey())))
+                break;
+            sets.add(entry.getValue());
+        }
+        return sets;
+    }
+
+    // the numbers are of the same order class as they are ordered by their value
+    private static Class<?> getOrderClass(final Object value) {
+        return value instanceof Number ? Number.class : value.getClass();
+    }
+
+    // the order of the values regardless of equals (i.e. 1 and 1L are of the same order)
+    private static int compareOrder(final Object a, final Object b) {
+        final Class<?> aClass = TinkerIndex.getOrderClass(a);
+        final Class<?> bClass = TinkerIndex.getOrderClass(b);
+        if (!aClass.equals(bClass))
+            return aClass.getName().compareTo(bClass.getName());
+        return Number.class.equals(aClass) && !a.getClass().equals(b.getClass()) ?
+                Comparators.NUMBER_COMPARATOR.compare((Number) a, (Number) b) :
+                ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * A bound of a range lookup that is ordered before (or after) all the values of the same order as its value.
+     */
+    private static final class Bound {
+
+        private final Object value;
+        private final boolean after;
+
+        private Bound(final Object value, final boolean after) {
+            this.value = value;
+            this.after = after;
+        }
+
+        private static Object valueOf(final Object object) {
+            return object instanceof Bound ? ((Bound) object).value : object;
+        }
+
+        private static int offsetOf(final Object object) {
+            return object instanceof Bound ? (((Bound) object).after ? 1 : -1) : 0;
+        }
+    }
 }
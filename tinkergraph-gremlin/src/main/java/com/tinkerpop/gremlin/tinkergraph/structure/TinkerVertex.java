@@ -11,24 +11,24 @@ import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterators {
 
-    protected Map<String, Set<Edge>> outEdges = new HashMap<>();
-    protected Map<String, Set<Edge>> inEdges = new HashMap<>();
+    protected final TinkerAdjacency outEdges;
+    protected final TinkerAdjacency inEdges;
+    protected int ordinal = -1;
     private static final Object[] EMPTY_ARGS = new Object[0];
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label, graph);
+        this.outEdges = TinkerAdjacency.create(graph);
+        this.inEdges = TinkerAdjacency.create(graph);
     }
 
     @Override
@@ -44,14 +44,13 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
             else
                 throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         } else {
-            if (this.properties.containsKey(key)) {
-                final List<VertexProperty> list = (List) this.properties.get(key);
-                if (list.size() > 1)
-                    throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
-                else
-                    return list.get(0);
-            } else
+            final List<VertexProperty> list = (List) this.properties.get(key);
+            if (null == list || list.isEmpty())
                 return VertexProperty.<V>empty();
+            else if (list.size() > 1)
+                throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+            else
+                return list.get(0);
         }
     }
 
@@ -74,9 +73,7 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
             final VertexProperty<V> vertexProperty = optionalId.isPresent() ?
                     new TinkerVertexProperty<V>(optionalId.get(), this, key, value) :
                     new TinkerVertexProperty<V>(this, key, value);
-            final List<Property> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
+            this.properties.computeIfAbsent(key, k -> TinkerHelper.createList(this.graph)).add(vertexProperty);
             this.graph.vertexIndex.autoUpdate(key, value, null, this);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
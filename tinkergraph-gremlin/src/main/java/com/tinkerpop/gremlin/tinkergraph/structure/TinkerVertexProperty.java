@@ -8,6 +8,7 @@ import com.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -81,10 +82,11 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
+        final List<Property> vertexProperties = this.vertex.properties.get(this.key);
+        if (null != vertexProperties) {
+            vertexProperties.remove(this);
+            if (vertexProperties.size() == 0) {
+                this.vertex.properties.remove(this.key, vertexProperties);
                 this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
             }
             final AtomicBoolean delete = new AtomicBoolean(true);
@@ -0,0 +1,98 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.tinkerpop.gremlin.process.computer.util.ScriptEngineCache;
+import com.tinkerpop.gremlin.process.computer.util.ScriptEngineLambda;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ScriptEngineLambdaTest {
+
+    private static ScriptEngineLambda lambda(final String script) {
+        return new ScriptEngineLambda(ScriptEngineCache.DEFAULT_SCRIPT_ENGINE, script);
+    }
+
+    @Test
+    public void shouldApplyFunction() {
+        final ScriptEngineLambda function = lambda("a + 1");
+        assertEquals(2, function.apply(1));
+        assertEquals(11, function.apply(10));
+    }
+
+    @Test
+    public void shouldTestPredicate() {
+        final ScriptEngineLambda predicate = lambda("a > 1");
+        assertTrue(predicate.test(2));
+        assertFalse(predicate.test(1));
+        assertTrue(predicate.test(3));
+    }
+
+    @Test
+    public void shouldGetSupplier() {
+        assertEquals(3, lambda("1 + 2").get());
+    }
+
+    @Test
+    public void shouldAcceptConsumersOfOneTwoAndThreeArguments() {
+        final List<Object> list = new ArrayList<>();
+        lambda("a.add('x')").accept(list);
+        lambda("a.add(b)").accept(list, "y");
+        lambda("a.add(b + c)").accept(list, 1, 2);
+        assertEquals(Arrays.asList("x", "y", 3), list);
+    }
+
+    @Test
+    public void shouldNotShareBindingsWithNestedInvocations() {
+        // the script invokes the same lambda before it reads its own arguments again
+        final ScriptEngineLambda function = lambda("null == a[0] ? 'inner' : a[0].apply([null]) + a[1]");
+        assertEquals("innerouter", function.apply(Arrays.asList(function, "outer")));
+        final ScriptEngineLambda consumer = lambda("if (null != b) b.accept(a, null, 'inner'); a.add(c)");
+        final List<Object> list = new ArrayList<>();
+        consumer.accept(list, consumer, "outer");
+        assertEquals(Arrays.asList("inner", "outer"), list);
+    }
+
+    @Test
+    public void shouldApplyFunctionFromMultipleThreads() throws Exception {
+        final ScriptEngineLambda function = lambda("a * 2");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final int offset = i * 1000;
+                futures.add(executor.submit(() -> {
+                    final List<Object> results = new ArrayList<>();
+                    for (int j = offset; j < offset + 1000; j++) {
+                        results.add(function.apply(j));
+                    }
+                    return results;
+                }));
+            }
+            for (int i = 0; i < 4; i++) {
+                final List<Object> results = futures.get(i).get();
+                for (int j = 0; j < 1000; j++) {
+                    assertEquals(2 * (i * 1000 + j), results.get(j));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCompileInvalidScript() {
+        lambda("a +");
+    }
+}
@@ -0,0 +1,79 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares draining long linear traversals one traverser at a time (i.e. {@link Traversal#next()}) with draining
+ * them a batch at a time (i.e. {@link Traversal#fill} and {@link Traversal#iterate()}).
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-batch")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-batch")
+public class TinkerGraphBatchPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 100000;
+    private static final int NUMBER_OF_EDGES = 1000000;
+
+    private static final TinkerGraph GRAPH = TinkerGraphBatchPerformanceTest.generate();
+    private static final long EXPECTED = GRAPH.V().out().has("age", Compare.gt, 50).values("name").count().next();
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseOneAtATime() {
+        final Traversal<Vertex, Object> traversal = GRAPH.V().out().has("age", Compare.gt, 50).values("name");
+        long counter = 0l;
+        while (traversal.hasNext()) {
+            traversal.next();
+            counter++;
+        }
+        assertEquals(EXPECTED, counter);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseBatchAtATime() {
+        assertEquals(EXPECTED, GRAPH.V().out().has("age", Compare.gt, 50).values("name").toList().size());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void countBatchAtATime() {
+        assertEquals(EXPECTED, GRAPH.V().out().has("age", Compare.gt, 50).values("name").count().next().longValue());
+    }
+
+    private static TinkerGraph generate() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Random random = new Random(854939487556l);
+        final List<Vertex> vertices = new ArrayList<>(NUMBER_OF_VERTICES);
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            vertices.add(g.addVertex("name", "person" + i, "age", random.nextInt(100)));
+        }
+        for (int i = 0; i < NUMBER_OF_EDGES; i++) {
+            vertices.get(random.nextInt(NUMBER_OF_VERTICES)).addEdge("knows", vertices.get(random.nextInt(NUMBER_OF_VERTICES)));
+        }
+        return g;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.process.computer.ComputerResult;
+import com.tinkerpop.gremlin.process.computer.lambda.LambdaVertexProgram;
+import com.tinkerpop.gremlin.process.computer.util.ScriptEngineCache;
+import com.tinkerpop.gremlin.process.computer.util.ScriptEngineLambda;
+import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import javax.script.Bindings;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares a script-based {@link LambdaVertexProgram} whose execute script is evaluated from its source on every
+ * vertex (i.e. with fresh bindings) with one whose execute script is a {@link ScriptEngineLambda} (i.e. compiled once).
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-script-lambda")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-script-lambda")
+public class TinkerGraphScriptLambdaPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 100000;
+    private static final String EXECUTE_SCRIPT = "a.singleProperty('older', a.value('age') + 1)";
+
+    private static final TinkerGraph GRAPH = TinkerGraphScriptLambdaPerformanceTest.generate();
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executeScriptEvaluatedPerVertex() throws Exception {
+        final ComputerResult result = new TinkerGraphComputer(GRAPH).program(LambdaVertexProgram.build()
+                .elementComputeKeys("older")
+                .execute((vertex, messenger, memory) -> {
+                    try {
+                        final Bindings bindings = new SimpleBindings();
+                        bindings.put("a", vertex);
+                        bindings.put("b", messenger);
+                        bindings.put("c", memory);
+                        ScriptEngineCache.get(ScriptEngineCache.DEFAULT_SCRIPT_ENGINE).eval(EXECUTE_SCRIPT, bindings);
+                    } catch (final ScriptException e) {
+                        throw new IllegalArgumentException(e.getMessage());
+                    }
+                }).create()).submit().get();
+        TinkerGraphScriptLambdaPerformanceTest.assertOlder(result);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executeScriptCompiledOnce() throws Exception {
+        final ComputerResult result = new TinkerGraphComputer(GRAPH).program(LambdaVertexProgram.build()
+                .elementComputeKeys("older")
+                .execute(EXECUTE_SCRIPT).create()).submit().get();
+        TinkerGraphScriptLambdaPerformanceTest.assertOlder(result);
+    }
+
+    private static void assertOlder(final ComputerResult result) {
+        assertEquals(NUMBER_OF_VERTICES, result.graph().V().count().next().intValue());
+        result.graph().V().forEachRemaining(vertex ->
+                assertEquals(vertex.<Integer>value("age") + 1, vertex.<Integer>value("older").intValue()));
+    }
+
+    private static TinkerGraph generate() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Random random = new Random(854939487556l);
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            g.addVertex("name", "person" + i, "age", random.nextInt(100));
+        }
+        return g;
+    }
+}
@@ -0,0 +1,112 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the heap footprint and the traversal time of the {@link TinkerGraph.AdjacencyType} layouts.
+ * The traversals exercise the iterators of the adjacency for every direction and with and without labels.
+ *
+ * @author agent (agent@local)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-adjacency")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-adjacency")
+public class TinkerGraphAdjacencyPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 100000;
+    private static final int NUMBER_OF_EDGES = 1000000;
+    private static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    private static final TinkerGraph HASH_GRAPH = TinkerGraphAdjacencyPerformanceTest.generate(TinkerGraph.AdjacencyType.HASH);
+    private static final TinkerGraph COMPACT_GRAPH = TinkerGraphAdjacencyPerformanceTest.generate(TinkerGraph.AdjacencyType.COMPACT);
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 1, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void compareHeapFootprint() {
+        final long hashBytes = TinkerGraphAdjacencyPerformanceTest.measureHeap(TinkerGraph.AdjacencyType.HASH);
+        final long compactBytes = TinkerGraphAdjacencyPerformanceTest.measureHeap(TinkerGraph.AdjacencyType.COMPACT);
+        System.out.println(String.format("Heap footprint of %s vertices and %s edges -- hash: %s MB, compact: %s MB",
+                NUMBER_OF_VERTICES, NUMBER_OF_EDGES, hashBytes / 1048576, compactBytes / 1048576));
+        assertTrue(compactBytes < hashBytes);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseHashAdjacency() {
+        assertEquals(NUMBER_OF_EDGES, HASH_GRAPH.V().out().count().next().intValue());
+        assertEquals(NUMBER_OF_EDGES, HASH_GRAPH.V().in(LABELS).count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseCompactAdjacency() {
+        assertEquals(NUMBER_OF_EDGES, COMPACT_GRAPH.V().out().count().next().intValue());
+        assertEquals(NUMBER_OF_EDGES, COMPACT_GRAPH.V().in(LABELS).count().next().intValue());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseMultipleHopsOfHashAdjacency() {
+        assertEquals(NUMBER_OF_EDGES * 2, HASH_GRAPH.V().both().count().next().intValue());
+        assertTrue(HASH_GRAPH.V().out().out(LABELS[0]).count().next() > 0);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseMultipleHopsOfCompactAdjacency() {
+        assertEquals(NUMBER_OF_EDGES * 2, COMPACT_GRAPH.V().both().count().next().intValue());
+        assertTrue(COMPACT_GRAPH.V().out().out(LABELS[0]).count().next() > 0);
+    }
+
+    private static TinkerGraph generate(final TinkerGraph.AdjacencyType adjacencyType) {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_ADJACENCY, adjacencyType.name());
+        final TinkerGraph g = TinkerGraph.open(configuration);
+        final Random random = new Random(854939487556l);
+        final List<Vertex> vertices = new ArrayList<>(NUMBER_OF_VERTICES);
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            vertices.add(g.addVertex());
+        }
+        for (int i = 0; i < NUMBER_OF_EDGES; i++) {
+            vertices.get(random.nextInt(NUMBER_OF_VERTICES)).addEdge(LABELS[random.nextInt(LABELS.length)], vertices.get(random.nextInt(NUMBER_OF_VERTICES)));
+        }
+        return g;
+    }
+
+    private static long measureHeap(final TinkerGraph.AdjacencyType adjacencyType) {
+        final long before = TinkerGraphAdjacencyPerformanceTest.usedHeap();
+        final TinkerGraph g = TinkerGraphAdjacencyPerformanceTest.generate(adjacencyType);
+        final long after = TinkerGraphAdjacencyPerformanceTest.usedHeap();
+        // keep the graph reachable until the heap has been measured
+        assertEquals(NUMBER_OF_VERTICES, g.V().count().next().intValue());
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,10 +1,33 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.AbstractGremlinTest;
+import com.tinkerpop.gremlin.process.Path;
 import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategies;
+import com.tinkerpop.gremlin.process.computer.ComputerResult;
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.computer.Memory;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
+import com.tinkerpop.gremlin.process.computer.MessageScope;
+import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.computer.lambda.LambdaVertexProgram;
+import com.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import com.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
 import com.tinkerpop.gremlin.process.graph.GraphTraversal;
 import com.tinkerpop.gremlin.process.graph.marker.TraversalOptionHolder;
+import com.tinkerpop.gremlin.process.graph.step.map.match.MatchStep;
+import com.tinkerpop.gremlin.process.graph.step.util.FusedStep;
+import com.tinkerpop.gremlin.process.graph.step.util.LazyBarrierStep;
+import com.tinkerpop.gremlin.process.graph.step.util.PathRetractionStep;
+import com.tinkerpop.gremlin.process.graph.strategy.LazyBarrierStrategy;
+import com.tinkerpop.gremlin.process.graph.strategy.StepFusionStrategy;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraversalPlanCache;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
@@ -17,7 +40,10 @@ import com.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
 import com.tinkerpop.gremlin.structure.strategy.PartitionStrategy;
+import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import com.tinkerpop.gremlin.util.StreamFactory;
+import com.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.io.FileUtils;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -26,16 +52,37 @@ import org.junit.Test;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static com.tinkerpop.gremlin.process.graph.AnonymousGraphTraversal.Tokens.__;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -99,6 +146,390 @@ public class TinkerGraphTest {
         g.of(TinkerFactory.SocialTraversal.class).people("marko").created().name().forEachRemaining(name -> assertEquals("lop", name));
     }
 
+    @Test
+    public void shouldNotConsumeGraphIdsForVertexComputeKeys() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        Vertex previous = g.addVertex();
+        long lastId = 0l;
+        for (int i = 1; i < 20; i++) {
+            final Vertex next = g.addVertex();
+            lastId = (Long) previous.addEdge("next", next).id();
+            previous = next;
+        }
+        computeMinimumIdLabels(g, GraphComputer.Isolation.BSP);
+        assertEquals(lastId + 1, ((Long) g.addVertex().id()).longValue());
+    }
+
+    @Test
+    public void shouldReadWriteAndRemoveColumnsOfVertexComputeKeys() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final Set<Object> graphIds = new HashSet<>();
+        g.V().forEachRemaining(vertex -> {
+            graphIds.add(vertex.id());
+            vertex.iterators().propertyIterator().forEachRemaining(property -> graphIds.add(property.id()));
+        });
+        g.E().forEachRemaining(edge -> graphIds.add(edge.id()));
+        for (final GraphComputer.Isolation isolation : GraphComputer.Isolation.values()) {
+            for (final int workers : new int[]{1, 4}) {
+                final ComputerResult result = new TinkerGraphComputer(g).workers(workers).isolation(isolation).program(LambdaVertexProgram.build()
+                        .elementComputeKeys("degree", "upper")
+                        .execute((vertex, messenger, memory) -> {
+                            final String name = vertex.value("name");
+                            if (memory.isInitialIteration()) {
+                                // the columns of a job are not initialized with the values of a previous job
+                                if (vertex.property("degree").isPresent() || vertex.property("upper").isPresent())
+                                    throw new IllegalStateException("The columns should be empty: " + vertex);
+                                vertex.singleProperty("degree", IteratorUtils.count(vertex.iterators().edgeIterator(Direction.OUT)));
+                                if (!name.equals("marko"))
+                                    vertex.singleProperty("upper", name.toUpperCase());
+                            } else {
+                                vertex.singleProperty("degree", 2l * vertex.<Long>value("degree"));
+                                if (name.equals("vadas"))
+                                    vertex.property("upper").remove();
+                            }
+                        })
+                        .terminate(memory -> memory.getIteration() >= 1).create()).submit().get();
+                final Set<Object> columnIds = new HashSet<>();
+                result.graph().V().forEachRemaining(vertex -> {
+                    final String name = vertex.value("name");
+                    assertEquals(2l * g.V(vertex.id()).outE().count().next(), vertex.<Long>value("degree").longValue());
+                    assertEquals(!name.equals("marko") && !name.equals("vadas"), vertex.property("upper").isPresent());
+                    if (vertex.property("upper").isPresent())
+                        assertEquals(name.toUpperCase(), vertex.value("upper"));
+                    assertTrue(columnIds.add(vertex.property("degree").id()));
+                    vertex.iterators().propertyIterator("upper").forEachRemaining(property -> assertTrue(columnIds.add(property.id())));
+                });
+                // the ids of the column properties are distinct from each other and from the ids of the graph
+                assertTrue(Collections.disjoint(graphIds, columnIds));
+            }
+        }
+    }
+
+    @Test
+    public void shouldRequireFewerIterationsWithDirtyBspIsolation() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        Vertex previous = g.addVertex();
+        for (int i = 1; i < 20; i++) {
+            final Vertex next = g.addVertex();
+            previous.addEdge("next", next);
+            previous = next;
+        }
+        // each vertex takes the minimum id of its predecessors in the chain
+        final int bspIterations = computeMinimumIdLabels(g, GraphComputer.Isolation.BSP);
+        final int dirtyIterations = computeMinimumIdLabels(g, GraphComputer.Isolation.DIRTY_BSP);
+        assertTrue(dirtyIterations < bspIterations);
+    }
+
+    @Test
+    public void shouldReceiveTheSameMessagesWhenReadTwiceInAnIteration() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            vertices.add(g.addVertex(T.id, (long) i));
+        }
+        for (int i = 0; i < 200; i++) {
+            vertices.get(i % 50).addEdge("next", vertices.get((i * 7 + 1) % 50));
+        }
+        for (final GraphComputer.Isolation isolation : GraphComputer.Isolation.values()) {
+            final ComputerResult result = new TinkerGraphComputer(g).workers(4).isolation(isolation).program(LambdaVertexProgram.build()
+                    .elementComputeKeys("first", "second")
+                    .execute((vertex, messenger, memory) -> {
+                        // with dirty isolation, the messages of the vertices executed earlier are received in the first iteration
+                        long first = memory.isInitialIteration() ? 0l : vertex.<Long>value("first");
+                        long second = memory.isInitialIteration() ? 0l : vertex.<Long>value("second");
+                        for (final Object message : messenger.receiveMessages(MessageScope.Global.instance())) {
+                            first = first + (Long) message;
+                        }
+                        for (final Object message : messenger.receiveMessages(MessageScope.Global.instance())) {
+                            second = second + (Long) message;
+                        }
+                        vertex.singleProperty("first", first);
+                        vertex.singleProperty("second", second);
+                        if (memory.isInitialIteration())
+                            messenger.sendMessage(MessageScope.Global.of(IteratorUtils.list(vertex.iterators().vertexIterator(Direction.OUT))), (Long) vertex.id());
+                    })
+                    .terminate(memory -> memory.getIteration() >= 1).create()).submit().get();
+            result.graph().V().forEachRemaining(vertex -> {
+                final long expected = g.V(vertex.id()).in("next").toList().stream().mapToLong(v -> (Long) v.id()).sum();
+                assertEquals(expected, vertex.<Long>value("first").longValue());
+                assertEquals(expected, vertex.<Long>value("second").longValue());
+            });
+        }
+    }
+
+    @Test
+    public void shouldOnlyExecuteActiveVerticesOfTraversal() throws Exception {
+        final Graph g = TinkerFactory.createClassic();
+        final TinkerGraphComputer computer = new TinkerGraphComputer((TinkerGraph) g);
+        assertEquals(2, g.V().out().out().submit(computer).toList().size());
+        // the initial iteration executes all 6 vertices, the later iterations only execute the vertices with traversers
+        assertTrue(LongStream.of(computer.getWorkerVertexCounts()).sum() < 6 * 3);
+    }
+
+    @Test
+    public void shouldNotDuplicateAdjacentTraversersSentAlongParallelEdges() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final Vertex marko = (Vertex) g.V().has("name", "marko").next();
+        final Vertex josh = (Vertex) g.V().has("name", "josh").next();
+        // marko and josh are adjacent along three edges in both directions
+        marko.addEdge("knows", josh);
+        josh.addEdge("knows", marko);
+        final List<String> expected = g.V().both().both().<String>values("name").toList();
+        Collections.sort(expected);
+        for (final GraphComputer.Isolation isolation : GraphComputer.Isolation.values()) {
+            final List<String> names = g.V().both().both().<String>values("name").submit(new TinkerGraphComputer(g).isolation(isolation)).toList();
+            Collections.sort(names);
+            assertEquals(expected, names);
+        }
+        assertEquals(g.V().outE().inV().in().count().next().intValue(), g.V().outE().inV().in().submit(new TinkerGraphComputer(g)).toList().size());
+    }
+
+    @Test
+    public void shouldCombineTraversersSentToTheSameVertex() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        // every traverser jumps back to its (non-adjacent) start vertex
+        final List<String> expected = g.V().as("a").both().both().back("a").<String>values("name").toList();
+        Collections.sort(expected);
+        for (final int workers : new int[]{1, 4}) {
+            final List<String> names = g.V().as("a").both().both().back("a").<String>values("name").submit(new TinkerGraphComputer(g).workers(workers)).toList();
+            Collections.sort(names);
+            assertEquals(expected, names);
+        }
+    }
+
+    @Test
+    public void shouldExecuteEveryVertexForAnyChunkSizeAndWorkerCount() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(g.addVertex("name", "v" + (i % 10)));
+        }
+        for (int i = 0; i < 500; i++) {
+            vertices.get(i % 100).addEdge("knows", vertices.get((i * 13) % 100));
+        }
+        final Map<Object, Long> expected = g.V().out().out().values("name").toList().stream().collect(Collectors.groupingBy(name -> name, Collectors.counting()));
+        for (final int workers : new int[]{1, 3, 8}) {
+            for (final int chunkSize : new int[]{1, 7, 100, 1000, Integer.MAX_VALUE}) {
+                final TinkerGraphComputer computer = new TinkerGraphComputer(g).workers(workers).chunkSize(chunkSize);
+                final List<Object> names = g.V().out().out().values("name").submit(computer).toList();
+                assertEquals(expected, names.stream().collect(Collectors.groupingBy(name -> name, Collectors.counting())));
+                assertEquals(workers, computer.getWorkerVertexCounts().length);
+            }
+        }
+        for (final int chunkSize : new int[]{0, -1}) {
+            try {
+                new TinkerGraphComputer(g).chunkSize(chunkSize);
+                fail("The chunk size must be greater than zero");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shouldExecuteVertexProgramsWithTheConfiguredWorkersAndExecutor() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final Map<Object, Double> expected = computePageRanks(new TinkerGraphComputer(g).workers(1));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (final int workers : new int[]{1, 4, 8}) {
+                final TinkerGraphComputer computer = new TinkerGraphComputer(g).workers(workers);
+                assertPageRanks(expected, computePageRanks(computer));
+                assertEquals(workers, computer.getWorkerVertexCounts().length);
+                assertEquals(workers, computer.getWorkerTimes().length);
+                // there are 6 vertices in the modern graph and page rank executes every vertex in every iteration
+                assertEquals(6 * 31, LongStream.of(computer.getWorkerVertexCounts()).sum());
+            }
+            // the workers can outnumber the threads of a provided executor which is not shutdown with the job
+            for (final int workers : new int[]{1, 2, 5}) {
+                final TinkerGraphComputer computer = new TinkerGraphComputer(g).workers(workers).executor(executor);
+                assertPageRanks(expected, computePageRanks(computer));
+                assertEquals(workers, computer.getWorkerVertexCounts().length);
+                assertFalse(executor.isShutdown());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (final int workers : new int[]{0, -1}) {
+            try {
+                new TinkerGraphComputer(g).workers(workers);
+                fail("The number of workers must be greater than zero");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shouldRethrowTheExceptionOfAWorker() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        for (final int workers : new int[]{1, 4}) {
+            final Future<ComputerResult> result = new TinkerGraphComputer(g).workers(workers).program(LambdaVertexProgram.build()
+                    .execute((vertex, messenger, memory) -> {
+                        if (vertex.value("name").equals("josh"))
+                            throw new IllegalStateException("josh can not be executed");
+                    })
+                    .terminate(memory -> memory.getIteration() >= 2).create()).submit();
+            try {
+                result.get();
+                fail("The exception of the worker should have been rethrown");
+            } catch (final ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+                assertEquals("josh can not be executed", e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void shouldReceiveTheMessagesOfEveryMessageStore() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            vertices.add(g.addVertex(T.id, "v" + i, "value", (long) i));
+        }
+        for (int i = 0; i < 200; i++) {
+            vertices.get(i % 50).addEdge("next", vertices.get((i * 7 + 1) % 50));
+        }
+        // the baseline is the sum of the values of the vertices adjacent along the incoming edges of each vertex
+        final Map<Object, Long> expected = new HashMap<>();
+        g.V().forEachRemaining(vertex -> expected.put(vertex.id(), g.V(vertex.id()).in("next").toList().stream().mapToLong(v -> v.<Long>value("value")).sum()));
+        // the messages are queued without a combiner, combined into an object with a combiner and combined into a
+        // primitive with a combiner that is also a primitive operator
+        final List<SumValuesVertexProgram<?>> vertexPrograms = Arrays.asList(
+                new SumValuesVertexProgram<>(value -> value, Optional.empty()),
+                new SumValuesVertexProgram<>(value -> value, Optional.of((a, b) -> a + b)),
+                new SumValuesVertexProgram<>(value -> value, Optional.of(new LongSumMessageCombiner())),
+                new SumValuesVertexProgram<>(Long::doubleValue, Optional.of(new DoubleSumMessageCombiner())));
+        for (final SumValuesVertexProgram<?> vertexProgram : vertexPrograms) {
+            for (final GraphComputer.Isolation isolation : GraphComputer.Isolation.values()) {
+                for (final int workers : new int[]{1, 4}) {
+                    final ComputerResult result = new TinkerGraphComputer(g).workers(workers).isolation(isolation).program(vertexProgram).submit().get();
+                    result.graph().V().forEachRemaining(vertex -> assertEquals(expected.get(vertex.id()), vertex.<Long>value(SumValuesVertexProgram.SUM)));
+                }
+            }
+        }
+    }
+
+    private static class SumValuesVertexProgram<M extends Number> extends StaticVertexProgram<M> {
+
+        private static final String SUM = "sum";
+
+        private final Function<Long, M> messageFunction;
+        private final Optional<MessageCombiner<M>> combiner;
+
+        public SumValuesVertexProgram(final Function<Long, M> messageFunction, final Optional<MessageCombiner<M>> combiner) {
+            this.messageFunction = messageFunction;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<M> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                vertex.singleProperty(SUM, 0l);
+                messenger.sendMessage(MessageScope.Global.of(IteratorUtils.list(vertex.iterators().vertexIterator(Direction.OUT, "next"))), this.messageFunction.apply(vertex.<Long>value("value")));
+            } else {
+                long sum = 0l;
+                for (final M message : messenger.receiveMessages(MessageScope.Global.instance())) {
+                    sum = sum + message.longValue();
+                }
+                vertex.singleProperty(SUM, sum);
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 1;
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return Collections.singleton(SUM);
+        }
+
+        @Override
+        public Optional<MessageCombiner<M>> getMessageCombiner() {
+            return this.combiner;
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return Collections.singleton(MessageScope.Global.instance());
+        }
+    }
+
+    private static class LongSumMessageCombiner implements MessageCombiner<Long>, LongBinaryOperator {
+
+        @Override
+        public Long combine(final Long messageA, final Long messageB) {
+            return messageA + messageB;
+        }
+
+        @Override
+        public long applyAsLong(final long messageA, final long messageB) {
+            return messageA + messageB;
+        }
+    }
+
+    private static class DoubleSumMessageCombiner implements MessageCombiner<Double>, DoubleBinaryOperator {
+
+        @Override
+        public Double combine(final Double messageA, final Double messageB) {
+            return messageA + messageB;
+        }
+
+        @Override
+        public double applyAsDouble(final double messageA, final double messageB) {
+            return messageA + messageB;
+        }
+    }
+
+    private static Map<Object, Double> computePageRanks(final TinkerGraphComputer computer) throws Exception {
+        final ComputerResult result = computer.program(PageRankVertexProgram.build().create()).submit().get();
+        final Map<Object, Double> pageRanks = new HashMap<>();
+        result.graph().V().forEachRemaining(vertex -> pageRanks.put(vertex.id(), vertex.<Double>value(PageRankVertexProgram.PAGE_RANK)));
+        return pageRanks;
+    }
+
+    private static void assertPageRanks(final Map<Object, Double> expected, final Map<Object, Double> pageRanks) {
+        assertEquals(expected.keySet(), pageRanks.keySet());
+        expected.forEach((id, pageRank) -> assertEquals(pageRank, pageRanks.get(id), 1e-9d));
+    }
+
+    private static int computeMinimumIdLabels(final TinkerGraph g, final GraphComputer.Isolation isolation) throws Exception {
+        final ComputerResult result = new TinkerGraphComputer(g).workers(1).isolation(isolation).program(LambdaVertexProgram.build()
+                .elementComputeKeys("component")
+                .memoryComputeKeys("halt")
+                .setup(memory -> memory.set("halt", false))
+                .execute((vertex, messenger, memory) -> {
+                    long label = memory.isInitialIteration() ? (Long) vertex.id() : vertex.<Long>value("component");
+                    boolean changed = memory.isInitialIteration();
+                    for (final Object message : messenger.receiveMessages(MessageScope.Global.instance())) {
+                        if ((Long) message < label) {
+                            label = (Long) message;
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        vertex.singleProperty("component", label);
+                        messenger.sendMessage(MessageScope.Global.of(IteratorUtils.list(vertex.iterators().vertexIterator(Direction.OUT))), label);
+                        memory.and("halt", false);
+                    }
+                })
+                .terminate(memory -> {
+                    if (memory.<Boolean>get("halt"))
+                        return true;
+                    memory.or("halt", true);
+                    return false;
+                }).create()).submit().get();
+        result.graph().V().forEachRemaining(vertex -> assertEquals(0l, vertex.<Long>value("component").longValue()));
+        return result.memory().getIteration();
+    }
+
     @Test
     @Ignore
     public void benchmarkStandardTraversals() throws Exception {
@@ -383,6 +814,525 @@ public class TinkerGraphTest {
         g.dropIndex("better-not-error-index-key-does-not-exist", Edge.class);
     }
 
+    @Test
+    public void shouldLookupRangesInSortedVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("age", Vertex.class));
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "lop", "lang", "java");
+
+        // only the vertices in the range of the index lookup should pass through the pipeline
+        assertEquals(2, StreamFactory.stream(g.V().has("name", (t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "").has("age", Compare.gt, 30)).count());
+        assertEquals(2, g.V().between("age", 28, 33).toList().size());
+        assertEquals(3, g.V().has("age", Compare.lte, 32).toList().size());
+        assertEquals(2, g.V().has("age", Contains.within, Arrays.asList(27, 35)).toList().size());
+        assertEquals(0, g.V().has("age", Compare.gt, "30").toList().size());
+    }
+
+    @Test
+    public void shouldLookupNumericRangesAcrossNumberClassesInSortedVertexIndex() {
+        final TinkerGraph indexed = TinkerGraph.open();
+        indexed.createIndex("x", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final TinkerGraph scanned = TinkerGraph.open();
+        for (final TinkerGraph g : Arrays.asList(indexed, scanned)) {
+            for (final Object value : Arrays.asList(1, 1l, 2l, 3.5d, new BigDecimal("1.0"), new BigDecimal("1.00"), 4)) {
+                g.addVertex("x", value);
+            }
+            assertEquals(3, g.V().has("x", Compare.gt, 1).count().next().intValue());
+            assertEquals(7, g.V().has("x", Compare.gte, 1).count().next().intValue());
+            assertEquals(4, g.V().has("x", Compare.lt, 2).count().next().intValue());
+            assertEquals(4, g.V().has("x", Compare.lte, 1.5f).count().next().intValue());
+            assertEquals(6, g.V().between("x", 1l, 4l).count().next().intValue());
+            assertEquals(1, g.V().between("x", new BigDecimal("3"), 4).count().next().intValue());
+            assertEquals(1, g.V().has("x", 1).count().next().intValue());
+            assertEquals(1, g.V().has("x", new BigDecimal("1.00")).count().next().intValue());
+            assertEquals(1, g.V().has("x", new BigDecimal("1.0")).count().next().intValue());
+        }
+    }
+
+    @Test
+    public void shouldLazilyIterateIndexAndScanResults() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("type", Vertex.class);
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("type", "x", "name", "v" + i);
+        }
+
+        // the range should stop the index lookup and the scan before the whole bucket is filtered
+        final AtomicInteger tested = new AtomicInteger(0);
+        assertEquals(10, g.V().has("type", "x").has("name", (t, u) -> tested.incrementAndGet() > 0, "").limit(10).toList().size());
+        assertTrue(tested.get() < 100);
+        tested.set(0);
+        assertEquals(10, g.V().has("name", (t, u) -> tested.incrementAndGet() > 0, "").limit(10).toList().size());
+        assertTrue(tested.get() < 100);
+
+        // the graph can be mutated while its index lookups and scans are iterated
+        g.V().has("type", "x").limit(500).sideEffect(v -> v.get().remove()).iterate();
+        assertEquals(500, g.V().has("type", "x").count().next().intValue());
+        g.V().sideEffect(v -> v.get().remove()).iterate();
+        assertEquals(0, g.V().count().next().intValue());
+    }
+
+    @Test
+    public void shouldChooseElementMapsByConcurrentConfiguration() {
+        final TinkerGraph g = TinkerGraph.open();
+        assertFalse(g.vertices instanceof ConcurrentHashMap);
+        assertFalse(g.edges instanceof ConcurrentHashMap);
+
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph concurrent = TinkerGraph.open(configuration);
+        assertTrue(concurrent.vertices instanceof ConcurrentHashMap);
+        assertTrue(concurrent.edges instanceof ConcurrentHashMap);
+    }
+
+    @Test
+    public void shouldWriteAndReadConcurrentGraphFromMultipleThreads() throws Exception {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(configuration);
+        g.createIndex("worker", Vertex.class);
+        final Vertex root = g.addVertex("name", "root");
+
+        final int writers = 4;
+        final int verticesPerWriter = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(writers * 2);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            final int worker = i;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < verticesPerWriter; j++) {
+                    final Vertex vertex = g.addVertex("worker", worker, "index", j);
+                    root.addEdge("writes", vertex, "worker", worker);
+                    vertex.property("tag", "a");
+                    vertex.property("tag", "b");
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                while (writing.get()) {
+                    g.V().has("worker", worker).values("index").count().next();
+                    root.outE("writes").has("worker", worker).count().next();
+                    g.V().values("tag").count().next();
+                }
+            }));
+        }
+        for (int i = 0; i < futures.size(); i = i + 2) {
+            futures.get(i).get();
+        }
+        writing.set(false);
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(writers * verticesPerWriter + 1, g.V().count().next().intValue());
+        assertEquals(writers * verticesPerWriter + 1, g.V().id().toSet().size());
+        assertEquals(writers * verticesPerWriter, root.out("writes").count().next().intValue());
+        assertEquals(writers * verticesPerWriter * 2, g.V().values("tag").count().next().intValue());
+        for (int i = 0; i < writers; i++) {
+            assertEquals(verticesPerWriter, g.V().has("worker", i).count().next().intValue());
+        }
+    }
+
+    @Test
+    public void shouldIndexOnlyTheEdgeThatClaimsAnIdConcurrently() throws Exception {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(configuration);
+        g.createIndex("claim", Edge.class);
+        final Vertex a = g.addVertex();
+        final Vertex b = g.addVertex();
+
+        final int writers = 4;
+        final int edges = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(writers);
+        final AtomicInteger failures = new AtomicInteger(0);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            final int worker = i;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < edges; j++) {
+                    try {
+                        a.addEdge("claims", b, T.id, "e" + j, "claim", j, "worker", worker);
+                    } catch (final IllegalArgumentException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals((writers - 1) * edges, failures.get());
+        assertEquals(edges, g.E().count().next().intValue());
+        assertEquals(edges, a.outE("claims").count().next().intValue());
+        for (int j = 0; j < edges; j++) {
+            final List<Edge> claims = g.E().<Edge>has("claim", j).toList();
+            assertEquals(1, claims.size());
+            assertEquals(g.E("e" + j).next().value("worker"), claims.get(0).<Integer>value("worker"));
+        }
+    }
+
+    @Test
+    public void shouldTraverseAndMutateCompactAdjacency() {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_ADJACENCY, "compact");
+        final TinkerGraph g = TinkerGraph.open(configuration);
+        assertEquals(TinkerGraph.AdjacencyType.COMPACT.name(), g.configuration().getString(TinkerGraph.CONFIG_ADJACENCY));
+
+        final Vertex marko = g.addVertex("name", "marko");
+        for (int i = 0; i < 100; i++) {
+            final Vertex other = g.addVertex("name", "v" + i);
+            marko.addEdge(i % 2 == 0 ? "knows" : "created", other);
+            other.addEdge("knows", marko);
+        }
+        assertEquals(100, marko.outE().count().next().intValue());
+        assertEquals(50, marko.out("knows").count().next().intValue());
+        assertEquals(100, marko.out("knows", "created").count().next().intValue());
+        assertEquals(100, marko.in("knows").count().next().intValue());
+        assertEquals(0, marko.in("created").count().next().intValue());
+        assertEquals(200, marko.both().count().next().intValue());
+
+        // the edges can be removed while they are iterated
+        marko.outE("created").sideEffect(e -> e.get().remove()).iterate();
+        assertEquals(0, marko.out("created").count().next().intValue());
+        assertEquals(50, marko.out().count().next().intValue());
+        marko.inE().sideEffect(e -> e.get().remove()).iterate();
+        assertEquals(0, marko.in().count().next().intValue());
+        marko.addEdge("created", marko);
+        assertEquals(1, marko.out("created").count().next().intValue());
+        assertEquals(1, marko.in("created").count().next().intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotOpenWithUnknownAdjacencyType() {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_ADJACENCY, "csr");
+        TinkerGraph.open(configuration);
+    }
+
+    @Test
+    public void shouldSelectFromTheLabeledPathsOfBatchedTraversers() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final Supplier<GraphTraversal<Vertex, Map<String, Object>>> traversal = () -> g.V().as("a").out().as("b").select().by("name");
+        // toList() drains the traversal a batch at a time while next() pulls a traverser at a time
+        final List<Map<String, Object>> expected = new ArrayList<>();
+        traversal.get().forEachRemaining(expected::add);
+        assertEquals(6, expected.size());
+        assertEquals(6, expected.stream().map(Object::toString).distinct().count());
+        assertEquals(expected, traversal.get().toList());
+        assertEquals(g.V().as("a").out().as("b").select().toList(), StreamFactory.stream(g.V().as("a").out().as("b").select()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldExecuteTraversalsInParallel() {
+        final BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_PARALLEL, true);
+        configuration.setProperty(TinkerGraph.CONFIG_PARALLELISM, 2);
+        final TinkerGraph parallel = TinkerGraph.open(configuration);
+        final TinkerGraph serial = TinkerGraph.open();
+        for (final TinkerGraph g : Arrays.asList(parallel, serial)) {
+            final List<Vertex> vertices = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                vertices.add(g.addVertex(T.id, i, "name", "v" + i, "age", i % 100));
+            }
+            for (int i = 0; i < 10000; i++) {
+                vertices.get(i % 1000).addEdge("knows", vertices.get((i * 31) % 1000));
+            }
+        }
+        assertTrue(parallel.configuration().getBoolean(TinkerGraph.CONFIG_PARALLEL));
+        assertEquals(2, parallel.configuration().getInt(TinkerGraph.CONFIG_PARALLELISM));
+        assertEquals(serial.V().out().out().count().next(), parallel.V().out().out().count().next());
+        assertEquals(serial.V().out().has("age", Compare.gt, 50).values("name").groupCount().next(),
+                parallel.V().out().has("age", Compare.gt, 50).values("name").groupCount().next());
+        assertEquals(serial.V().out().values("age").toList().size(), parallel.V().out().values("age").toList().size());
+        // the edge starts are streamed to the pool in more splits than are in flight at once
+        assertEquals(serial.E().inV().id().toSet(), parallel.E().inV().id().toSet());
+        assertEquals(serial.E().inV().count().next(), parallel.E().inV().count().next());
+        // the steps that hold state across traversers are not parallelized
+        assertEquals(10, parallel.V().out().limit(10).count().next().intValue());
+        assertEquals(serial.V().out().dedup().count().next(), parallel.V().out().dedup().count().next());
+        // the steps that read the path of their traversers are not parallelized
+        assertEquals(serial.V().as("a").out().as("b").select("a", "b").toList().stream().map(Object::toString).sorted().collect(Collectors.toList()),
+                parallel.V().as("a").out().as("b").select("a", "b").toList().stream().map(Object::toString).sorted().collect(Collectors.toList()));
+        assertEquals(serial.V().as("a").out().out().back("a").id().toList().stream().map(Object::toString).sorted().collect(Collectors.toList()),
+                parallel.V().as("a").out().out().back("a").id().toList().stream().map(Object::toString).sorted().collect(Collectors.toList()));
+        assertEquals(serial.V().out().out().path().toList().stream().map(Object::toString).sorted().collect(Collectors.toList()),
+                parallel.V().out().out().path().toList().stream().map(Object::toString).sorted().collect(Collectors.toList()));
+        parallel.close();
+    }
+
+    @Test
+    public void shouldFuseAdjacentMapFlatMapAndFilterSteps() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final TraversalStrategies unfused = TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).clone().removeStrategies(StepFusionStrategy.class);
+        final List<Supplier<GraphTraversal<Vertex, ?>>> suppliers = Arrays.asList(
+                () -> g.V().out().out().has("lang", "java").values("name"),
+                () -> g.V().outE().inV().has("age", Compare.gt, 26).values("name"),
+                () -> g.V().both().as("a").both().values("name"),
+                () -> g.V().both().both().path(),
+                () -> g.V().out().out().dedup().values("name"),
+                () -> g.V().out().map(v -> v.get().value("name")));
+        for (final Supplier<GraphTraversal<Vertex, ?>> supplier : suppliers) {
+            final GraphTraversal<Vertex, ?> fused = supplier.get();
+            fused.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+            assertEquals(1, TraversalHelper.getStepsOfClass(FusedStep.class, fused.asAdmin()).size());
+            final GraphTraversal<Vertex, ?> traversal = supplier.get();
+            traversal.asAdmin().setStrategies(unfused);
+            final List<String> expected = traversal.toList().stream().map(Object::toString).sorted().collect(Collectors.toList());
+            assertEquals(expected, fused.toList().stream().map(Object::toString).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldMergeFannedOutTraversersAtLazyBarriers() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(g.addVertex("name", "v" + (i % 10)));
+        }
+        for (int i = 0; i < 2000; i++) {
+            vertices.get(i % 100).addEdge("knows", vertices.get((i * 7) % 100));
+        }
+        final TraversalStrategies strategies = TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).clone().addStrategies(LazyBarrierStrategy.create(10));
+
+        final GraphTraversal<Vertex, Long> count = g.V().out().out().out().count();
+        count.asAdmin().setStrategies(strategies);
+        count.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(2, TraversalHelper.getStepsOfClass(LazyBarrierStep.class, count.asAdmin()).size());
+        assertEquals(g.V().out().out().out().count().next(), count.next());
+
+        final GraphTraversal<Vertex, Map<Object, Long>> groupCount = (GraphTraversal) g.V().out().out().values("name").groupCount();
+        groupCount.asAdmin().setStrategies(strategies);
+        assertEquals(g.V().out().out().values("name").groupCount().next(), groupCount.next());
+
+        final GraphTraversal<Vertex, Object> values = g.V().both().out().values("name").limit(100);
+        values.asAdmin().setStrategies(strategies);
+        assertEquals(100, values.toList().size());
+
+        final GraphTraversal<Vertex, Long> mapped = g.V().out().out().id().count();
+        mapped.asAdmin().setStrategies(strategies);
+        mapped.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(1, TraversalHelper.getStepsOfClass(LazyBarrierStep.class, mapped.asAdmin()).size());
+        assertEquals(g.V().out().out().count().next(), mapped.next());
+
+        // a lambda map may access the path of the merged traversers
+        final GraphTraversal<Vertex, Object> lambda = g.V().as("a").out().out().map(t -> t.path("a"));
+        lambda.asAdmin().setStrategies(strategies);
+        lambda.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(0, TraversalHelper.getStepsOfClass(LazyBarrierStep.class, lambda.asAdmin()).size());
+        final Map<Object, Long> expected = g.V().as("a").out().out().map(t -> t.path("a")).toList().stream().collect(Collectors.groupingBy(v -> v, Collectors.counting()));
+        assertEquals(expected, lambda.toList().stream().collect(Collectors.groupingBy(v -> v, Collectors.counting())));
+
+        // merged traversers would share their path
+        final GraphTraversal<Vertex, Path> paths = g.V().out().out().path();
+        paths.asAdmin().setStrategies(strategies);
+        paths.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(0, TraversalHelper.getStepsOfClass(LazyBarrierStep.class, paths.asAdmin()).size());
+    }
+
+    @Test
+    public void shouldRetractPathsOnceTheirLabelsAreNoLongerReferenced() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final GraphTraversal<Vertex, Object> back = g.V().as("a").out().out().back("a").values("name");
+        back.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(2, TraversalHelper.getStepsOfClass(PathRetractionStep.class, back.asAdmin()).size());
+        int counter = 0;
+        while (back.asAdmin().getEndStep().hasNext()) {
+            final Traverser<Object> traverser = back.asAdmin().getEndStep().next();
+            assertEquals("marko", traverser.get());
+            assertEquals(1, traverser.path().size());
+            counter++;
+        }
+        assertEquals(2, counter);
+
+        final GraphTraversal<Vertex, Map<String, Object>> select = g.V().as("a").out().as("b").back("a").out().as("c").select("b", "c");
+        select.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(4, TraversalHelper.getStepsOfClass(PathRetractionStep.class, select.asAdmin()).size());
+        final List<Map<String, Object>> bindings = select.toList();
+        assertEquals(14, bindings.size());
+        bindings.forEach(map -> {
+            assertEquals(2, map.size());
+            assertTrue(map.containsKey("b"));
+            assertTrue(map.containsKey("c"));
+        });
+
+        // the entire path is referenced
+        final GraphTraversal<Vertex, Path> paths = g.V().as("a").out().out().back("a").path();
+        paths.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        assertEquals(0, TraversalHelper.getStepsOfClass(PathRetractionStep.class, paths.asAdmin()).size());
+        assertEquals(2, paths.toList().size());
+    }
+
+    @Test
+    public void shouldRetractPathsOfComputerTraversals() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final GraphTraversal<Vertex, Map<String, Object>> select = g.V().as("a").out().as("b").back("a").out().as("c").select("b", "c");
+        select.asAdmin().applyStrategies(TraversalEngine.COMPUTER);
+        assertEquals(4, TraversalHelper.getStepsOfClass(PathRetractionStep.class, select.asAdmin()).size());
+        final List<String> expected = g.V().as("a").out().as("b").back("a").out().as("c").select("b", "c").toList()
+                .stream().map(Object::toString).sorted().collect(Collectors.toList());
+        assertEquals(14, expected.size());
+        for (final int workers : Arrays.asList(1, 3)) {
+            final List<Map<String, Object>> bindings = g.V().as("a").out().as("b").back("a").out().as("c").select("b", "c")
+                    .submit(new TinkerGraphComputer(g).workers(workers)).toList();
+            bindings.forEach(map -> assertEquals(new HashSet<>(Arrays.asList("b", "c")), map.keySet()));
+            assertEquals(expected, bindings.stream().map(Object::toString).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldSolveMatchesForBatchesOfBulkedStarts() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final Supplier<GraphTraversal<Vertex, Map<String, Object>>> traversal = () -> g.V().both().both().match("a",
+                __.as("a").out("created").as("b"),
+                __.as("b").in("created").as("c"));
+        final List<String> expected = traversal.get().toList().stream().map(Object::toString).sorted().collect(Collectors.toList());
+
+        final GraphTraversal<Vertex, Map<String, Object>> batched = traversal.get();
+        batched.asAdmin().applyStrategies(TraversalEngine.STANDARD);
+        final List<MatchStep> matchSteps = TraversalHelper.getStepsOfClass(MatchStep.class, batched.asAdmin());
+        assertEquals(1, matchSteps.size());
+        matchSteps.get(0).setStartsPerBatch(100);
+        final List<String> results = new ArrayList<>();
+        int traversers = 0;
+        while (batched.asAdmin().getEndStep().hasNext()) {
+            final Traverser<Map<String, Object>> traverser = batched.asAdmin().getEndStep().next();
+            for (long i = 0; i < traverser.bulk(); i++) {
+                results.add(traverser.get().toString());
+            }
+            traversers++;
+        }
+        Collections.sort(results);
+        assertEquals(expected, results);
+        // the identical starts are solved for once and their solutions are bulked
+        assertTrue(traversers < results.size());
+    }
+
+    @Test
+    public void shouldInstantiateTraversalsFromCachedPlans() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final TraversalStrategies strategies = TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).clone();
+        final TraversalPlanCache planCache = new TraversalPlanCache(2);
+        strategies.setPlanCache(planCache);
+
+        final GraphTraversal<Vertex, Object> first = g.V().out().has("age", Compare.gt, 30).values("name");
+        first.asAdmin().setStrategies(strategies);
+        assertEquals(Arrays.asList("josh"), first.toList());
+        assertEquals(0, planCache.getHits());
+        assertEquals(1, planCache.getMisses());
+
+        final GraphTraversal<Vertex, Object> second = g.V().out().has("age", Compare.gt, 30).values("name");
+        second.asAdmin().setStrategies(strategies);
+        assertEquals(Arrays.asList("josh"), second.toList());
+        assertEquals(first.toString(), second.toString());
+        assertEquals(1, planCache.getHits());
+
+        // the values of the has containers are bound to the instantiated plan
+        final GraphTraversal<Vertex, Object> third = g.V().out().has("age", Compare.gt, 20).values("name");
+        third.asAdmin().setStrategies(strategies);
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "josh")), third.toSet());
+        assertEquals(2, planCache.getHits());
+        assertEquals(1, planCache.getMisses());
+
+        // the ids of the start step are bound to the instantiated plan
+        final GraphTraversal<Vertex, Object> fourth = g.V(1).out().values("name");
+        fourth.asAdmin().setStrategies(strategies);
+        assertEquals(new HashSet<>(Arrays.asList("lop", "vadas", "josh")), fourth.toSet());
+        final GraphTraversal<Vertex, Object> fifth = g.V(4).out().values("name");
+        fifth.asAdmin().setStrategies(strategies);
+        assertEquals(new HashSet<>(Arrays.asList("ripple", "lop")), fifth.toSet());
+        assertEquals(3, planCache.getHits());
+        assertEquals(2, planCache.getMisses());
+
+        // traversals that hold lambdas are not cached
+        final GraphTraversal<Vertex, Vertex> sixth = g.V().out().filter(v -> true);
+        sixth.asAdmin().setStrategies(strategies);
+        assertEquals(6, sixth.toList().size());
+        assertEquals(2, planCache.getMisses());
+
+        // the by()-modulators of the steps are part of the shape
+        final GraphTraversal<Vertex, Map<Object, Long>> byName = (GraphTraversal) g.V().groupCount().by("name");
+        byName.asAdmin().setStrategies(strategies);
+        assertEquals(1l, byName.next().get("marko").longValue());
+        final GraphTraversal<Vertex, Map<Object, Long>> byLabel = (GraphTraversal) g.V().groupCount().by(T.label);
+        byLabel.asAdmin().setStrategies(strategies);
+        assertEquals(4l, byLabel.next().get("person").longValue());
+        assertEquals(3, planCache.getHits());
+        assertEquals(4, planCache.getMisses());
+
+        // the side-effects of the instantiated traversals are not shared
+        final List<Map<Object, Long>> counts = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final GraphTraversal<Vertex, Map<Object, Long>> traversal = (GraphTraversal) g.V().out().values("name").groupCount();
+            traversal.asAdmin().setStrategies(strategies);
+            counts.add(traversal.next());
+        }
+        assertEquals(counts.get(0), counts.get(1));
+        assertEquals(3l, counts.get(1).get("lop").longValue());
+        assertTrue(counts.get(0) != counts.get(1));
+        assertEquals(4, planCache.getHits());
+        assertEquals(2, planCache.size());
+        assertEquals(3, planCache.getEvictions());
+    }
+
+    @Test
+    public void shouldLookupCompositeAndVertexCentricIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex(Vertex.class, "person", "name", "age");
+        g.createVertexCentricIndex("knows", "weight");
+
+        final Vertex marko = g.addVertex(T.label, "person", "name", "marko", "age", 29);
+        final Vertex vadas = g.addVertex(T.label, "person", "name", "vadas", "age", 27);
+        final Vertex josh = g.addVertex(T.label, "person", "name", "josh", "age", 32);
+        g.addVertex(T.label, "robot", "name", "marko", "age", 29);
+        marko.addEdge("knows", vadas, "weight", 0.5d);
+        marko.addEdge("knows", josh, "weight", 1.0d);
+        marko.addEdge("likes", josh, "weight", 1.0d);
+        vadas.addEdge("knows", josh, "weight", 1.0d);
+
+        // only the label-scoped composite index lookup should pass through the pipeline
+        assertEquals(1, StreamFactory.stream(g.V().has("name", (t, u) -> {
+            assertEquals("marko", t);
+            return true;
+        }, "").has(T.label, "person").has("name", "marko").has("age", 29)).count());
+        assertEquals(1, g.V().has("robot", "name", "marko").has("age", 29).toList().size());
+
+        // only the edges of the out vertex with the indexed label and weight should pass through the pipeline
+        assertEquals(1, StreamFactory.stream(marko.outE("knows").has("weight", (t, u) -> {
+            assertEquals(1.0d, t);
+            return true;
+        }, "").has("weight", 1.0d)).count());
+        assertEquals(josh, marko.outE("knows").has("weight", 1.0d).inV().next());
+        assertEquals(1, g.V(vadas.id()).outE("knows").has("weight", 1.0d).toList().size());
+
+        // the indices are updated as the elements are mutated
+        josh.property("age", 29);
+        josh.property("name", "marko");
+        assertEquals(2, g.V().has(T.label, "person").has("name", "marko").has("age", 29).toList().size());
+        marko.outE("knows").has("weight", 0.5d).next().property("weight", 1.0d);
+        assertEquals(2, marko.outE("knows").has("weight", 1.0d).toList().size());
+        josh.remove();
+        assertEquals(1, g.V().has(T.label, "person").has("name", "marko").has("age", 29).toList().size());
+        assertEquals(1, marko.outE("knows").has("weight", 1.0d).toList().size());
+
+        g.dropIndex(Vertex.class, "person", "name", "age");
+        g.dropVertexCentricIndex("knows", "weight");
+        assertEquals(1, g.V().has(T.label, "person").has("name", "marko").has("age", 29).toList().size());
+        assertEquals(1, marko.outE("knows").has("weight", 1.0d).toList().size());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldNotCreateVertexIndexWithNullKey() {
         final TinkerGraph g = TinkerGraph.open();